@@ -1,5 +1,6 @@
 package com.authmat.tool.exception;
 
+import com.authmat.tool.logging.RateLimitedLogger;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -61,13 +62,19 @@ import java.util.stream.Collectors;
  *   <li>Prevent Spring Boot from silently handling static resource paths</li>
  * </ul>
  *
+ * <p>Log lines are passed through a {@link RateLimitedLogger} keyed by handler and client
+ * address, so a scanner probing unmapped routes or a client replaying an invalid payload
+ * cannot flood the appenders; suppressed events are summarised periodically.
+ *
  * Recommended for use in microservice-based architectures and shared libraries where a predictable,
  * secure, and testable error handling strategy is required.
  */
 @RestControllerAdvice
 @Slf4j
 public abstract class BaseGlobalExceptionHandler {
-
+    protected final RateLimitedLogger rateLimitedLog = RateLimitedLogger.builder()
+            .logger(log)
+            .build();
 
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFoundEndpoint(
@@ -77,7 +84,7 @@ public abstract class BaseGlobalExceptionHandler {
         String requestUri = request.getRequestURI() != null ?
                 request.getRequestURI() : "N/A";
 
-        log.warn("404 Not Found: {}", requestUri);
+        rateLimitedLog.warn("not-found", request.getRemoteAddr(), "404 Not Found: {}", requestUri);
 
         return generateErrorResponse(
                 "The requested resource was not found",
@@ -91,7 +98,8 @@ public abstract class BaseGlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException exception, HttpServletRequest request
     ){
-        log.warn("Validation failed: {}", exception.getMessage());
+        rateLimitedLog.warn("validation", request.getRemoteAddr(),
+                "Validation failed: {}", exception.getMessage());
 
         Map<String, String> errors = exception.getBindingResult()
                 .getFieldErrors()
@@ -117,7 +125,8 @@ public abstract class BaseGlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleAllUncaughtExceptions(
             Exception exception, HttpServletRequest request
     ){
-        log.error("Unhandled exception occurred: {}", exception);
+        rateLimitedLog.error("unhandled:" + exception.getClass().getName(), request.getRemoteAddr(),
+                "Unhandled exception occurred: {}", exception);
 
         return generateErrorResponse(
                 "An unexpected error has occurred. Please try again later.",
@@ -0,0 +1,250 @@
+package com.authmat.tool.logging;
+
+import lombok.Builder;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * RateLimitedLogger
+ *
+ * Guards a {@link Logger} against floods of identical events, such as a gateway bypass
+ * storm or a misconfigured upstream that makes every request fail the same way.
+ *
+ * <p>Each event belongs to a <b>category</b> (the reason it is logged) and a <b>key</b>
+ * (typically the client IP). Every category/key pair has its own token bucket that
+ * refills at {@code permitsPerSecond} up to {@code burst}; an event is written only if
+ * its bucket has a token. Each category also has one global bucket, refilling at
+ * {@code globalPermitsPerSecond} up to {@code globalBurst}, that is checked first, so
+ * rotating keys (e.g. a spoofed {@code X-Forwarded-For}) cannot multiply the volume of a
+ * category. Suppressed events are still counted exactly, and once per
+ * {@code summaryInterval} a line such as
+ *
+ * <pre>{@code
+ * suppressed 1523 similar events in last 10s. category=gateway.bypass
+ * }</pre>
+ *
+ * is written for every category that had suppressions. Summaries are written on a
+ * schedule, so a storm that has ended still reports its count, as well as by the next
+ * event after the interval or on demand via {@link #flushSummaries()}. The schedule runs
+ * on {@code summaryScheduler}, by default one daemon thread shared by all instances;
+ * {@link #close()} cancels it and writes the final summaries.
+ *
+ * <p>At most {@code maxKeys} buckets are tracked per category; further keys share one
+ * overflow bucket, so a spoofed-IP flood cannot grow memory without bound. Buckets idle
+ * for a whole summary interval are discarded.
+ */
+public final class RateLimitedLogger implements AutoCloseable {
+    public static final double DEFAULT_PERMITS_PER_SECOND = 1.0;
+    public static final int DEFAULT_BURST = 5;
+    public static final Duration DEFAULT_SUMMARY_INTERVAL = Duration.ofSeconds(10);
+    public static final int DEFAULT_MAX_KEYS = 10_000;
+    public static final double DEFAULT_GLOBAL_PERMITS_PER_SECOND = 10.0;
+    public static final int DEFAULT_GLOBAL_BURST = 50;
+
+    private static final String NO_KEY = "-";
+
+    private final Logger logger;
+    private final double permitsPerNano;
+    private final int burst;
+    private final long summaryIntervalNanos;
+    private final int maxKeys;
+    private final double globalPermitsPerNano;
+    private final int globalBurst;
+    private final LongSupplier nanoClock;
+    private final ScheduledFuture<?> scheduledSummaries;
+
+    private final Map<String, Category> categories = new ConcurrentHashMap<>();
+    private final AtomicLong nextSummaryNanos;
+    private volatile long lastSummaryNanos;
+
+    @Builder
+    public RateLimitedLogger(
+            Logger logger,
+            Double permitsPerSecond,
+            Integer burst,
+            Duration summaryInterval,
+            Integer maxKeys,
+            Double globalPermitsPerSecond,
+            Integer globalBurst,
+            LongSupplier nanoClock,
+            ScheduledExecutorService summaryScheduler
+    ){
+        if(logger == null){
+            throw new IllegalArgumentException("logger must not be null");
+        }
+        this.logger = logger;
+        this.permitsPerNano = (permitsPerSecond != null ? permitsPerSecond : DEFAULT_PERMITS_PER_SECOND) / 1e9;
+        this.burst = burst != null ? burst : DEFAULT_BURST;
+        this.summaryIntervalNanos = (summaryInterval != null ? summaryInterval : DEFAULT_SUMMARY_INTERVAL).toNanos();
+        this.maxKeys = maxKeys != null ? maxKeys : DEFAULT_MAX_KEYS;
+        this.globalPermitsPerNano =
+                (globalPermitsPerSecond != null ? globalPermitsPerSecond : DEFAULT_GLOBAL_PERMITS_PER_SECOND) / 1e9;
+        this.globalBurst = globalBurst != null ? globalBurst : DEFAULT_GLOBAL_BURST;
+        this.nanoClock = nanoClock != null ? nanoClock : System::nanoTime;
+
+        long now = this.nanoClock.getAsLong();
+        this.lastSummaryNanos = now;
+        this.nextSummaryNanos = new AtomicLong(now + summaryIntervalNanos);
+        this.scheduledSummaries = (summaryScheduler != null ? summaryScheduler : SharedScheduler.INSTANCE)
+                .scheduleAtFixedRate(this::flushSummaries,
+                        summaryIntervalNanos, summaryIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts the event and decides whether it may be written.
+     *
+     * @return true if the caller should log the event
+     */
+    public boolean tryAcquire(String category, String key){
+        long now = nanoClock.getAsLong();
+        Category counters = categories.computeIfAbsent(category, Category::new);
+        counters.total.increment();
+
+        boolean permitted = counters.global.tryTake(now);
+        if(permitted && !counters.bucketFor(key == null ? NO_KEY : key, now).tryTake(now)){
+            // The key's own limit applies, so its rejected event must not use up the category's budget
+            counters.global.refund();
+            permitted = false;
+        }
+        if(!permitted){
+            counters.suppressedTotal.increment();
+            counters.suppressedInWindow.increment();
+        }
+
+        long next = nextSummaryNanos.get();
+        if(now - next >= 0 && nextSummaryNanos.compareAndSet(next, now + summaryIntervalNanos)){
+            emitSummaries(now);
+        }
+        return permitted;
+    }
+
+    public void warn(String category, String key, String format, Object... arguments){
+        if(tryAcquire(category, key)){
+            logger.warn(format, arguments);
+        }
+    }
+
+    public void error(String category, String key, String format, Object... arguments){
+        if(tryAcquire(category, key)){
+            logger.error(format, arguments);
+        }
+    }
+
+    /**
+     * @return every event seen for the category, written or not
+     */
+    public long count(String category){
+        Category counters = categories.get(category);
+        return counters == null ? 0 : counters.total.sum();
+    }
+
+    /**
+     * @return every event suppressed for the category since this logger was created
+     */
+    public long suppressedCount(String category){
+        Category counters = categories.get(category);
+        return counters == null ? 0 : counters.suppressedTotal.sum();
+    }
+
+    /** Writes the pending summary lines now, e.g. on shutdown. */
+    public void flushSummaries(){
+        long now = nanoClock.getAsLong();
+        nextSummaryNanos.set(now + summaryIntervalNanos);
+        emitSummaries(now);
+    }
+
+    /** Stops the scheduled summaries and writes the pending ones. */
+    @Override
+    public void close(){
+        scheduledSummaries.cancel(false);
+        flushSummaries();
+    }
+
+    private synchronized void emitSummaries(long now){
+        long elapsedSeconds = Math.max(1, Math.round((now - lastSummaryNanos) / 1e9));
+        lastSummaryNanos = now;
+
+        for(Category counters : categories.values()){
+            long suppressed = counters.suppressedInWindow.sumThenReset();
+            if(suppressed > 0){
+                logger.warn("suppressed {} similar events in last {}s. category={}",
+                        suppressed, elapsedSeconds, counters.name);
+            }
+            counters.buckets.values().removeIf(bucket -> now - bucket.lastSeenNanos > summaryIntervalNanos);
+        }
+    }
+
+    private final class Category {
+        private final String name;
+        private final LongAdder total = new LongAdder();
+        private final LongAdder suppressedTotal = new LongAdder();
+        private final LongAdder suppressedInWindow = new LongAdder();
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final Bucket global = new Bucket(globalBurst, globalPermitsPerNano, nanoClock.getAsLong());
+        private final Bucket overflow = new Bucket(burst, permitsPerNano, nanoClock.getAsLong());
+
+        private Category(String name){
+            this.name = name;
+        }
+
+        private Bucket bucketFor(String key, long now){
+            Bucket bucket = buckets.get(key);
+            if(bucket != null){
+                return bucket;
+            }
+            if(buckets.size() >= maxKeys){
+                return overflow;
+            }
+            return buckets.computeIfAbsent(key, ignored -> new Bucket(burst, permitsPerNano, now));
+        }
+    }
+
+    private static final class Bucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+        private volatile long lastSeenNanos;
+
+        private Bucket(int capacity, double refillPerNano, long now){
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+            this.lastSeenNanos = now;
+        }
+
+        private synchronized boolean tryTake(long now){
+            lastSeenNanos = now;
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+            if(tokens < 1){
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        private synchronized void refund(){
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+
+    private static final class SharedScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limited-logger-summaries");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
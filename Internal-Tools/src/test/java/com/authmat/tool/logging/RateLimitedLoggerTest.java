@@ -0,0 +1,119 @@
+package com.authmat.tool.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RateLimitedLoggerTest {
+    private final Logger logger = mock(Logger.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final RateLimitedLogger rateLimitedLogger = RateLimitedLogger.builder()
+            .logger(logger)
+            .permitsPerSecond(1.0)
+            .burst(3)
+            .summaryInterval(Duration.ofSeconds(10))
+            .nanoClock(nanos::get)
+            .build();
+
+    @Test
+    void writesBurstThenSuppressesButCountsEveryEvent(){
+        IntStream.range(0, 100).forEach(i ->
+                rateLimitedLogger.warn("gateway.bypass", "10.0.0.1", "bypass attempt {}", i));
+
+        verify(logger, times(3)).warn(eq("bypass attempt {}"), any(Object[].class));
+        assertEquals(100, rateLimitedLogger.count("gateway.bypass"));
+        assertEquals(97, rateLimitedLogger.suppressedCount("gateway.bypass"));
+    }
+
+    @Test
+    void bucketsAreKeyedByCategoryAndClient(){
+        assertTrue(drain("gateway.bypass", "10.0.0.1"));
+        assertTrue(rateLimitedLogger.tryAcquire("gateway.bypass", "10.0.0.2"));
+        assertTrue(rateLimitedLogger.tryAcquire("gateway.missing-identity", "10.0.0.1"));
+    }
+
+    @Test
+    void bucketRefillsOverTime(){
+        drain("gateway.bypass", "10.0.0.1");
+        assertFalse(rateLimitedLogger.tryAcquire("gateway.bypass", "10.0.0.1"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(rateLimitedLogger.tryAcquire("gateway.bypass", "10.0.0.1"));
+    }
+
+    @Test
+    void emitsSummaryOfSuppressedEventsOncePerInterval(){
+        IntStream.range(0, 50).forEach(i -> rateLimitedLogger.tryAcquire("gateway.bypass", "10.0.0.1"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        rateLimitedLogger.tryAcquire("gateway.bypass", "10.0.0.1");
+
+        verify(logger).warn(anyString(), eq(47L), eq(10L), eq("gateway.bypass"));
+    }
+
+    @Test
+    void globalBucketBoundsCategoryAcrossRotatingKeys(){
+        RateLimitedLogger limited = RateLimitedLogger.builder()
+                .logger(logger)
+                .burst(3)
+                .globalBurst(10)
+                .globalPermitsPerSecond(1.0)
+                .nanoClock(nanos::get)
+                .build();
+
+        long written = IntStream.range(0, 1_000)
+                .filter(i -> limited.tryAcquire("gateway.bypass", "10.0." + (i / 256) + "." + (i % 256)))
+                .count();
+
+        assertEquals(10, written);
+        assertEquals(990, limited.suppressedCount("gateway.bypass"));
+        assertTrue(limited.tryAcquire("gateway.missing-identity", "10.0.0.1"));
+    }
+
+    @Test
+    void suppressedKeyDoesNotUseUpTheGlobalBudget(){
+        RateLimitedLogger limited = RateLimitedLogger.builder()
+                .logger(logger)
+                .burst(3)
+                .globalBurst(5)
+                .nanoClock(nanos::get)
+                .build();
+
+        IntStream.range(0, 100).forEach(i -> limited.tryAcquire("gateway.bypass", "10.0.0.1"));
+
+        assertTrue(limited.tryAcquire("gateway.bypass", "10.0.0.2"));
+        assertTrue(limited.tryAcquire("gateway.bypass", "10.0.0.3"));
+    }
+
+    @Test
+    void summaryIsWrittenOnScheduleAfterTheStormEnds(){
+        try(RateLimitedLogger scheduled = RateLimitedLogger.builder()
+                .logger(logger)
+                .burst(3)
+                .summaryInterval(Duration.ofMillis(50))
+                .build()){
+            IntStream.range(0, 50).forEach(i -> scheduled.tryAcquire("gateway.bypass", "10.0.0.1"));
+
+            verify(logger, timeout(5_000)).warn(anyString(), eq(47L), anyLong(), eq("gateway.bypass"));
+        }
+    }
+
+    private boolean drain(String category, String key){
+        boolean permitted = true;
+        for(int i = 0; i < 3; i++){
+            permitted &= rateLimitedLogger.tryAcquire(category, key);
+        }
+        return permitted;
+    }
+}
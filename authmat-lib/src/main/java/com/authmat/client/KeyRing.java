@@ -0,0 +1,100 @@
+package com.authmat.client;
+
+import com.authmat.model.publickey.PublicKeyMetadata;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the public keys held by {@link PublicKeyManager}.
+ *
+ * <p>Rotations never modify a ring in place; they build a new one and publish it
+ * atomically, so a reader holding a ring always sees a consistent set of keys. Lookups
+ * go through an immutable {@link Map#copyOf} map, which the JDK implements as a small
+ * open-addressed table. Each entry carries its expiry as epoch millis so the time
+ * check on the lookup path is a single comparison.</p>
+ */
+public final class KeyRing {
+    static final long NO_EXPIRY = Long.MAX_VALUE;
+    static final KeyRing EMPTY = new KeyRing(new String[0], Map.of());
+
+    private final String[] kids;
+    private final Map<String, Entry> entriesByKid;
+
+    private KeyRing(String[] kids, Map<String, Entry> entriesByKid){
+        this.kids = kids;
+        this.entriesByKid = entriesByKid;
+    }
+
+    public PublicKeyMetadata find(String kid){
+        Entry entry = kid == null ? null : entriesByKid.get(kid);
+        return entry == null ? null : entry.metadata();
+    }
+
+    /**
+     * Like {@link #find(String)}, but treats a key whose expiry is at or before
+     * {@code nowMillis} as absent, even if no sweep has evicted it yet.
+     */
+    public PublicKeyMetadata find(String kid, long nowMillis){
+        Entry entry = kid == null ? null : entriesByKid.get(kid);
+        return entry == null || entry.expiresAtMillis() <= nowMillis ? null : entry.metadata();
+    }
+
+    /**
+     * @return kids in insertion order, oldest first
+     */
+    public List<String> kids(){
+        return List.of(kids);
+    }
+
+    public int size(){
+        return kids.length;
+    }
+
+    /**
+     * Returns a new ring with {@code kid} as the newest key. Re-adding an existing kid
+     * replaces it; once {@code maxKeys} is exceeded the oldest kids are dropped.
+     */
+    KeyRing with(String kid, PublicKeyMetadata metadata, long expiresAtMillis, int maxKeys){
+        String[] retained = Arrays.stream(kids)
+                .filter(existing -> !existing.equals(kid))
+                .toArray(String[]::new);
+
+        int keep = Math.min(retained.length, maxKeys - 1);
+        String[] nextKids = new String[keep + 1];
+        System.arraycopy(retained, retained.length - keep, nextKids, 0, keep);
+        nextKids[keep] = kid;
+
+        Map<String, Entry> nextEntries = new HashMap<>(nextKids.length * 2);
+        for(int i = 0; i < keep; i++){
+            nextEntries.put(nextKids[i], entriesByKid.get(nextKids[i]));
+        }
+        nextEntries.put(kid, new Entry(metadata, expiresAtMillis));
+
+        return new KeyRing(nextKids, Map.copyOf(nextEntries));
+    }
+
+    /**
+     * Returns a ring without {@code kid}, but only if it is still bound to
+     * {@code metadata}; a kid that has since been re-registered is left alone.
+     */
+    KeyRing without(String kid, PublicKeyMetadata metadata){
+        Entry entry = entriesByKid.get(kid);
+        if(entry == null || (metadata != null && entry.metadata() != metadata)){
+            return this;
+        }
+
+        String[] nextKids = Arrays.stream(kids)
+                .filter(existing -> !existing.equals(kid))
+                .toArray(String[]::new);
+
+        Map<String, Entry> nextEntries = new HashMap<>(entriesByKid);
+        nextEntries.remove(kid);
+
+        return new KeyRing(nextKids, Map.copyOf(nextEntries));
+    }
+
+    private record Entry(PublicKeyMetadata metadata, long expiresAtMillis) {}
+}
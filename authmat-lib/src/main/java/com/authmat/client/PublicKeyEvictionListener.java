@@ -0,0 +1,12 @@
+package com.authmat.client;
+
+import com.authmat.model.publickey.PublicKeyMetadata;
+
+/**
+ * Notified by {@link PublicKeyManager} whenever a key leaves the key ring, so that
+ * anything derived from it (parsers, verified-token results) can be dropped too.
+ */
+@FunctionalInterface
+public interface PublicKeyEvictionListener {
+    void onKeyEvicted(String kid, PublicKeyMetadata metadata);
+}
@@ -1,44 +1,248 @@
 package com.authmat.client;
 
+import com.authmat.events.PublicKeyRevocationEvent;
 import com.authmat.events.PublicKeyRotationEvent;
+import com.authmat.exception.InvalidPublicKeyException;
 import com.authmat.model.publickey.PublicKeyMetadata;
 import com.authmat.model.publickey.PublicKeyMetadataImp;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
-@RequiredArgsConstructor
+/**
+ * Holds the most recent {@code maxKeysTraced} verification keys, keyed by kid.
+ *
+ * <p>The keys live in an immutable {@link KeyRing} behind an {@link AtomicReference}.
+ * Lookups are a single volatile read plus a map probe, with no locking; rotations build
+ * a new ring and publish it with a compare-and-set, so concurrent rotations can neither
+ * exceed the bound nor leave a kid half-registered.</p>
+ *
+ * <p>Keys are also time-bound. A key past its {@code expiresAt} is never returned by a
+ * lookup, and is physically evicted by {@link #evictExpired()}, which pops due keys from
+ * an expiry-ordered queue that only the write side touches. Revoked kids are removed
+ * immediately and refused if a stale rotation event tries to re-register them. The
+ * {@link Clock} is injectable so expiry can be tested deterministically.</p>
+ */
 @Slf4j
-public class PublicKeyManager {
+public class PublicKeyManager implements PublicKeyResolver {
     private final int maxKeysTraced;
-    private final Deque<String> publicKeyInsertionSequence = new ConcurrentLinkedDeque<>();
-    private final Map<String, PublicKeyMetadata> publicKeyRepository = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final AtomicReference<KeyRing> keyRing = new AtomicReference<>(KeyRing.EMPTY);
+    private final List<PublicKeyEvictionListener> evictionListeners = new CopyOnWriteArrayList<>();
+    private final PriorityQueue<ScheduledExpiry> expiryQueue =
+            new PriorityQueue<>(Comparator.comparingLong(ScheduledExpiry::expiresAtMillis));
+    private final Set<String> revokedKids = ConcurrentHashMap.newKeySet();
 
+    public PublicKeyManager(int maxKeysTraced){
+        this(maxKeysTraced, Clock.systemUTC());
+    }
+
+    public PublicKeyManager(int maxKeysTraced, Clock clock){
+        if(maxKeysTraced < 1){
+            throw new IllegalArgumentException("maxKeysTraced must be at least 1");
+        }
+        this.maxKeysTraced = maxKeysTraced;
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
 
+    /**
+     * Registers the key carried by a rotation event. The key is decoded here, once, so
+     * a malformed, already expired or revoked key is rejected with
+     * {@link InvalidPublicKeyException} before it is ever visible to the request path.
+     */
     public void addKey(PublicKeyRotationEvent event){
-        if(publicKeyInsertionSequence.size() >= maxKeysTraced){
-            String key = publicKeyInsertionSequence.poll();
-            publicKeyRepository.remove(key);
+        PublicKey publicKey = decodePublicKey(event);
+
+        if(revokedKids.contains(event.kid())){
+            throw new InvalidPublicKeyException("Public key has been revoked. kid=" + event.kid());
+        }
+
+        long expiresAtMillis = event.expiresAt() == null ?
+                KeyRing.NO_EXPIRY : event.expiresAt().toEpochMilli();
+        if(expiresAtMillis <= clock.millis()){
+            throw new InvalidPublicKeyException("Public key has already expired. kid=" + event.kid());
+        }
+
+        PublicKeyMetadata metadata = PublicKeyMetadataImp.builder()
+                .id(UUID.randomUUID())
+                .encodedPublicKey(event.publicKey())
+                .publicKey(publicKey)
+                .keyAlgorithm(event.signingKeyAlgorithm())
+                .jwtAlgorithm(event.jwtAlgorithm())
+                .createdAt(LocalDateTime.now(clock))
+                .expiresAt(event.expiresAt() == null ?
+                        null : LocalDateTime.ofInstant(event.expiresAt(), clock.getZone()))
+                .build();
+
+        KeyRing current;
+        KeyRing next;
+        do {
+            current = keyRing.get();
+            next = current.with(event.kid(), metadata, expiresAtMillis, maxKeysTraced);
+        } while(!keyRing.compareAndSet(current, next));
+
+        // Keys displaced by the publish are gone whether or not this kid survives
+        notifyEvictions(current, next);
+
+        // A revocation may have landed between the check above and the publish
+        if(revokedKids.contains(event.kid())){
+            if(removeKey(event.kid(), metadata) != null){
+                notifyEviction(event.kid(), metadata);
+            }
+            throw new InvalidPublicKeyException("Public key has been revoked. kid=" + event.kid());
+        }
+
+        if(expiresAtMillis != KeyRing.NO_EXPIRY){
+            synchronized (expiryQueue){
+                expiryQueue.add(new ScheduledExpiry(event.kid(), metadata, expiresAtMillis));
+            }
+        }
+    }
+
+    /**
+     * Removes the kid from the key ring immediately and refuses any later attempt to
+     * register it again.
+     */
+    public void revokeKey(PublicKeyRevocationEvent event){
+        revokedKids.add(event.kid());
+
+        PublicKeyMetadata revoked = removeKey(event.kid(), null);
+        if(revoked != null){
+            log.warn("Public key revoked. kid={} reason={}", event.kid(), event.reason());
+            notifyEviction(event.kid(), revoked);
+        }
+    }
+
+    /**
+     * Evicts every key whose expiry is due. Called by the sweep scheduled through
+     * {@link #scheduleExpirySweep}, or directly by tests.
+     *
+     * @return the number of keys evicted
+     */
+    public int evictExpired(){
+        long now = clock.millis();
+        List<ScheduledExpiry> due = new ArrayList<>();
+
+        synchronized (expiryQueue){
+            while(!expiryQueue.isEmpty() && expiryQueue.peek().expiresAtMillis() <= now){
+                due.add(expiryQueue.poll());
+            }
+        }
+
+        int evicted = 0;
+        for(ScheduledExpiry expiry : due){
+            if(removeKey(expiry.kid(), expiry.metadata()) != null){
+                log.info("Public key expired and was evicted. kid={}", expiry.kid());
+                notifyEviction(expiry.kid(), expiry.metadata());
+                evicted++;
+            }
         }
+        return evicted;
+    }
 
-        publicKeyInsertionSequence.addLast(
-                event.kid());
+    /**
+     * Runs {@link #evictExpired()} in the background on the caller-owned scheduler.
+     */
+    public ScheduledFuture<?> scheduleExpirySweep(ScheduledExecutorService scheduler, Duration interval){
+        long periodMillis = interval.toMillis();
+        return scheduler.scheduleAtFixedRate(
+                this::evictExpired, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
 
-        publicKeyRepository.put(
-                event.kid(),
-                new PublicKeyMetadataImp(
-                        event.publicKey(), event.signingKeyAlgorithm(), event.jwtAlgorithm()));
+    public void addEvictionListener(PublicKeyEvictionListener listener){
+        evictionListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
     }
 
     public Collection<String> getKeyMetadata(){
-        return Collections.unmodifiableCollection(publicKeyInsertionSequence);
+        return keyRing.get().kids();
     }
 
     public Optional<PublicKeyMetadata> findKeyByKid(String kid){
-        return Optional.of(publicKeyRepository.getOrDefault(kid, null));
+        return Optional.ofNullable(keyRing.get().find(kid, clock.millis()));
+    }
+
+    /**
+     * @return the current key ring; it never changes, later rotations publish a new one
+     */
+    public KeyRing snapshot(){
+        return keyRing.get();
+    }
+
+    @Override
+    public Optional<PublicKeyMetadata> resolve(String kid){
+        return findKeyByKid(kid);
+    }
+
+    /**
+     * @param expected when non-null the kid is only removed while still bound to it
+     * @return the removed metadata, or {@code null} if nothing was removed
+     */
+    private PublicKeyMetadata removeKey(String kid, PublicKeyMetadata expected){
+        KeyRing current;
+        KeyRing next;
+        do {
+            current = keyRing.get();
+            next = current.without(kid, expected);
+            if(next == current){
+                return null;
+            }
+        } while(!keyRing.compareAndSet(current, next));
+
+        return current.find(kid);
     }
 
+    private static PublicKey decodePublicKey(PublicKeyRotationEvent event){
+        if(event.kid() == null || event.kid().isBlank()){
+            throw new InvalidPublicKeyException("Public key rotation event is missing a kid.");
+        }
+        if(event.publicKey() == null || event.signingKeyAlgorithm() == null){
+            throw new InvalidPublicKeyException("Public key or algorithm missing for kid=" + event.kid());
+        }
+
+        try {
+            byte[] decodedKey = Base64.getDecoder().decode(event.publicKey());
+            return KeyFactory
+                    .getInstance(event.signingKeyAlgorithm())
+                    .generatePublic(new X509EncodedKeySpec(decodedKey));
+        } catch (IllegalArgumentException | NoSuchAlgorithmException | InvalidKeySpecException e){
+            log.warn("Rejected malformed public key. kid={} reason={}", event.kid(), e.getMessage());
+            throw new InvalidPublicKeyException("Malformed public key for kid=" + event.kid());
+        }
+    }
+
+    private void notifyEvictions(KeyRing previous, KeyRing current){
+        for(String kid : previous.kids()){
+            PublicKeyMetadata evicted = previous.find(kid);
+            if(current.find(kid) != evicted){
+                notifyEviction(kid, evicted);
+            }
+        }
+    }
+
+    private void notifyEviction(String kid, PublicKeyMetadata metadata){
+        for(PublicKeyEvictionListener listener : evictionListeners){
+            try {
+                listener.onKeyEvicted(kid, metadata);
+            } catch (RuntimeException e){
+                log.warn("Public key eviction listener failed. kid={}", kid, e);
+            }
+        }
+    }
+
+    private record ScheduledExpiry(String kid, PublicKeyMetadata metadata, long expiresAtMillis) {}
+
 }
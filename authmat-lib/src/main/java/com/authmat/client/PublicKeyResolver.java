@@ -2,9 +2,18 @@ package com.authmat.client;
 
 import com.authmat.model.publickey.PublicKeyMetadata;
 
+import java.security.PublicKey;
 import java.util.Optional;
 
 @FunctionalInterface
 public interface PublicKeyResolver {
     Optional<PublicKeyMetadata> resolve(String kid);
+
+    /**
+     * Resolves the ready-to-use verification key for a kid, without any decoding on
+     * the caller's side.
+     */
+    default Optional<PublicKey> resolvePublicKey(String kid){
+        return resolve(kid).map(PublicKeyMetadata::getPublicKey);
+    }
 }
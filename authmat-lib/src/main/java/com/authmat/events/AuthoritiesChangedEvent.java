@@ -0,0 +1,44 @@
+package com.authmat.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published by AuthMat whenever a user's granted authorities change, so that every
+ * service holding cached authorities for that user can drop them straight away.
+ *
+ * {@code version} increases monotonically per user; consumers may ignore an event
+ * whose version they have already seen.
+ */
+public record AuthoritiesChangedEvent(
+        UUID    eventId,
+        String  eventType,
+        String  aggregateType,
+        int     schemaVersion,
+        String  userId,
+        long    version,
+        Instant occurredAt
+) {
+    private static final String EVENT_TYPE = "user.authorities.changed";
+    private static final String AGGREGATE_TYPE = "User";
+    private static final int SCHEMA_VERSION = 1;
+
+    public AuthoritiesChangedEvent{
+        if (eventId    == null) throw new IllegalArgumentException("eventId must not be null");
+        if (userId     == null || userId.isBlank()) throw new IllegalArgumentException("userId must not be blank");
+        if (version    < 0)     throw new IllegalArgumentException("version must not be negative");
+        if (occurredAt == null) throw new IllegalArgumentException("occurredAt must not be null");
+    }
+
+    public static AuthoritiesChangedEvent of(String userId, long version){
+        return new AuthoritiesChangedEvent(
+                UUID.randomUUID(),
+                EVENT_TYPE,
+                AGGREGATE_TYPE,
+                SCHEMA_VERSION,
+                userId,
+                version,
+                Instant.now()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.authmat.events;
+
+import lombok.Builder;
+
+@Builder
+public record PublicKeyRevocationEvent(
+        String kid,
+        String reason) {
+
+    public PublicKeyRevocationEvent {
+        if (kid == null || kid.isBlank()) throw new IllegalArgumentException("kid must not be blank");
+    }
+}
@@ -4,6 +4,10 @@ import lombok.Builder;
 
 import java.time.Instant;
 
+/**
+ * @param expiresAt optional; when present the key is rejected for lookups from that
+ *                  instant on and evicted by the next expiry sweep
+ */
 @Builder
 public record PublicKeyRotationEvent(
         String kid,
@@ -11,5 +15,17 @@ public record PublicKeyRotationEvent(
         String signingKeyAlgorithm,
         String jwtAlgorithm,
         String issuer,
-        Instant issuedAt) {
+        Instant issuedAt,
+        Instant expiresAt) {
+
+    /** A rotation event for a key that does not expire. */
+    public PublicKeyRotationEvent(
+            String kid,
+            String publicKey,
+            String signingKeyAlgorithm,
+            String jwtAlgorithm,
+            String issuer,
+            Instant issuedAt){
+        this(kid, publicKey, signingKeyAlgorithm, jwtAlgorithm, issuer, issuedAt, null);
+    }
 }
@@ -0,0 +1,18 @@
+package com.authmat.events;
+
+import java.util.List;
+
+/**
+ * Compacted state of the revocation stream: every revocation that has not yet expired,
+ * as of {@code sequence}. A node starting from a snapshot applies the events after
+ * {@code sequence} next.
+ */
+public record RevocationSnapshot(
+        long sequence,
+        List<TokenRevokedEvent> revocations
+) {
+    public RevocationSnapshot {
+        if (sequence < 0) throw new IllegalArgumentException("sequence must not be negative");
+        revocations = revocations == null ? List.of() : List.copyOf(revocations);
+    }
+}
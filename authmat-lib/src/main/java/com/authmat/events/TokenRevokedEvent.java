@@ -0,0 +1,50 @@
+package com.authmat.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published once per revoked access token. {@code sequence} is assigned by the
+ * publisher, starts at 1 and increases by exactly one per event, so a node that has
+ * applied every event up to {@code n} only needs the ones after {@code n} and can tell
+ * when it has missed some.
+ *
+ * {@code tokenDigest} is the hex SHA-256 of the compact token rather than the token
+ * itself; {@code expiresAt} is the token's own {@code exp}, after which the revocation
+ * no longer needs to be kept.
+ */
+public record TokenRevokedEvent(
+        UUID    eventId,
+        String  eventType,
+        String  aggregateType,
+        int     schemaVersion,
+        long    sequence,
+        String  tokenDigest,
+        Instant expiresAt,
+        Instant occurredAt
+) {
+    private static final String EVENT_TYPE = "token.revoked";
+    private static final String AGGREGATE_TYPE = "AccessToken";
+    private static final int SCHEMA_VERSION = 1;
+
+    public TokenRevokedEvent{
+        if (eventId     == null) throw new IllegalArgumentException("eventId must not be null");
+        if (sequence    < 1)     throw new IllegalArgumentException("sequence must be positive");
+        if (tokenDigest == null || tokenDigest.isBlank()) throw new IllegalArgumentException("tokenDigest must not be blank");
+        if (expiresAt   == null) throw new IllegalArgumentException("expiresAt must not be null");
+        if (occurredAt  == null) throw new IllegalArgumentException("occurredAt must not be null");
+    }
+
+    public static TokenRevokedEvent of(long sequence, String tokenDigest, Instant expiresAt){
+        return new TokenRevokedEvent(
+                UUID.randomUUID(),
+                EVENT_TYPE,
+                AGGREGATE_TYPE,
+                SCHEMA_VERSION,
+                sequence,
+                tokenDigest,
+                expiresAt,
+                Instant.now()
+        );
+    }
+}
@@ -1,14 +1,14 @@
 package com.authmat.model;
 
+import com.authmat.security.CompactAuthoritySet;
 import lombok.Builder;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 @Builder
 public class AuthUser implements UserDetails {
     private String username;
@@ -19,14 +19,19 @@ public class AuthUser implements UserDetails {
     private boolean isAccountNonLocked;
     private boolean isCredentialsNonExpired;
     private boolean isEnabled;
+    // Built on first use and reused; Spring Security calls getAuthorities() repeatedly per request
+    private final AtomicReference<CompactAuthoritySet> grantedAuthorities = new AtomicReference<>();
 
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return authorities
-                .stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toSet());
+        CompactAuthoritySet granted = grantedAuthorities.get();
+        if (granted == null) {
+            granted = authorities == null ?
+                    CompactAuthoritySet.EMPTY : CompactAuthoritySet.ofNames(authorities);
+            grantedAuthorities.set(granted);
+        }
+        return granted;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.authmat.model.publickey;
 
 import java.io.Serializable;
+import java.security.PublicKey;
 import java.time.LocalDateTime;
 
 public interface PublicKeyMetadata extends Serializable {
@@ -8,6 +9,15 @@ public interface PublicKeyMetadata extends Serializable {
 
     String getEncodedPublicKey();
 
+    /**
+     * The decoded key, materialized once when the key is registered so the request
+     * path never has to decode {@link #getEncodedPublicKey()} itself. Implementations
+     * that only carry the encoded form return {@code null}.
+     */
+    default PublicKey getPublicKey(){
+        return null;
+    }
+
     String getKeyAlgorithm();
 
     String getJwtAlgorithm();
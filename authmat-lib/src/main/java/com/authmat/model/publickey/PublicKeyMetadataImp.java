@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.security.PublicKey;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -21,6 +22,8 @@ public class PublicKeyMetadataImp implements PublicKeyMetadata{
     @Size(min = 2048, message = "Encoded public key must be at least 2048 characters long.")
     private String encodedPublicKey;
 
+    private PublicKey publicKey;
+
     @NotEmpty
     private String keyAlgorithm;
 
@@ -35,8 +38,15 @@ public class PublicKeyMetadataImp implements PublicKeyMetadata{
     private LocalDateTime revokedAt;
 
     public PublicKeyMetadataImp(String encodedPublicKey, String keyAlgorithm, String jwtAlgorithm){
+        this(encodedPublicKey, null, keyAlgorithm, jwtAlgorithm);
+    }
+
+    public PublicKeyMetadataImp(
+            String encodedPublicKey, PublicKey publicKey, String keyAlgorithm, String jwtAlgorithm
+    ){
         this.id = UUID.randomUUID();
         this.encodedPublicKey = encodedPublicKey;
+        this.publicKey = publicKey;
         this.keyAlgorithm = keyAlgorithm;
         this.jwtAlgorithm = jwtAlgorithm;
         this.createdAt = LocalDateTime.now();
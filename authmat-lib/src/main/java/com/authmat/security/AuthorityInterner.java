@@ -0,0 +1,91 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AuthorityInterner
+ *
+ * Process-wide registry that maps every distinct authority string to one canonical
+ * {@link GrantedAuthority} instance and a small, dense integer id. The ids are the bit
+ * positions used by {@link CompactAuthoritySet}.
+ *
+ * Lookups of already interned names are a single concurrent map read. Registration
+ * of a new name takes a lock, which only happens the first time a role is seen.
+ *
+ * Entries are never removed. Only intern names that come from trusted sources (AuthMat,
+ * verified tokens, endpoint policies): the set of distinct roles is small and stable,
+ * which is what keeps this registry bounded.
+ */
+public final class AuthorityInterner {
+    public static final int UNKNOWN = -1;
+
+    private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final ReentrantLock REGISTRATION_LOCK = new ReentrantLock();
+    private static volatile GrantedAuthority[] authoritiesById = new GrantedAuthority[64];
+    private static int nextId;
+
+    private AuthorityInterner() {}
+
+    public static GrantedAuthority intern(String authority) {
+        return authoritiesById[idFor(authority)];
+    }
+
+    /**
+     * @return the id of {@code authority}, registering it if this is the first time it is seen
+     */
+    public static int idFor(String authority) {
+        Integer id = IDS.get(requireName(authority));
+        return id != null ? id : register(authority);
+    }
+
+    /**
+     * @return the id of {@code authority}, or {@link #UNKNOWN} if it has never been interned
+     */
+    public static int idOf(String authority) {
+        Integer id = authority == null ? null : IDS.get(authority);
+        return id != null ? id : UNKNOWN;
+    }
+
+    static GrantedAuthority authorityOf(int id) {
+        return authoritiesById[id];
+    }
+
+    private static int register(String authority) {
+        REGISTRATION_LOCK.lock();
+        try {
+            Integer existing = IDS.get(authority);
+            if (existing != null) {
+                return existing;
+            }
+
+            int id = nextId++;
+            GrantedAuthority[] current = authoritiesById;
+            if (id >= current.length) {
+                GrantedAuthority[] grown = Arrays.copyOf(current, current.length * 2);
+                grown[id] = new SimpleGrantedAuthority(authority);
+                authoritiesById = grown;
+            } else {
+                current[id] = new SimpleGrantedAuthority(authority);
+            }
+
+            // Published last: a reader that sees the id is guaranteed to see the instance
+            IDS.put(authority, id);
+            return id;
+        } finally {
+            REGISTRATION_LOCK.unlock();
+        }
+    }
+
+    private static String requireName(String authority) {
+        if (authority == null || authority.isBlank()) {
+            throw new IllegalArgumentException("authority must not be blank");
+        }
+        return authority;
+    }
+}
@@ -0,0 +1,38 @@
+package com.authmat.security;
+
+import com.authmat.events.AuthoritiesChangedEvent;
+
+/**
+ * AuthorityInvalidationChannel
+ *
+ * Transport that delivers {@link AuthoritiesChangedEvent}s to the authority caches
+ * of a process. Because revocations are pushed, caches such as
+ * {@link CachingAuthorityResolver} can run long TTLs and still reflect a revocation
+ * almost immediately.
+ *
+ * Implementations:
+ *   InMemoryAuthorityInvalidationChannel — in-process delivery, for tests and single-node setups
+ *   Broker-backed channels               — e.g. Kafka or Redis pub/sub; subscribe to the broker
+ *                                          topic and fan each event out to the local listeners.
+ */
+public interface AuthorityInvalidationChannel {
+
+    /**
+     * Registers a listener for every event received from now on.
+     *
+     * @return handle that stops delivery to this listener when closed
+     */
+    Subscription subscribe(AuthorityInvalidationListener listener);
+
+    /**
+     * Publishes an event to every subscriber of the channel, in this process and,
+     * for broker-backed implementations, in every other one.
+     */
+    void publish(AuthoritiesChangedEvent event);
+
+    @FunctionalInterface
+    interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,12 @@
+package com.authmat.security;
+
+import com.authmat.events.AuthoritiesChangedEvent;
+
+/**
+ * Implemented by anything in the process that caches authorities and must forget a
+ * user's entry once AuthMat reports that the user's authorities changed.
+ */
+@FunctionalInterface
+public interface AuthorityInvalidationListener {
+    void onAuthoritiesChanged(AuthoritiesChangedEvent event);
+}
@@ -0,0 +1,90 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * AuthorityRequirement
+ *
+ * A required-authority policy compiled once, typically per endpoint, into a bit mask
+ * over {@link AuthorityInterner} ids. Checking it against a {@link CompactAuthoritySet}
+ * is a word-by-word AND over two {@code long[]}s: no string hashing and no allocation
+ * per request.
+ *
+ *   anyOf — satisfied when at least one required authority is granted
+ *           (an empty requirement is never satisfied)
+ *   allOf — satisfied when every required authority is granted
+ *           (an empty requirement is always satisfied)
+ */
+public final class AuthorityRequirement {
+    private enum Mode { ANY_OF, ALL_OF }
+
+    private final Mode mode;
+    private final long[] mask;
+    private final List<String> authorities;
+
+    private AuthorityRequirement(Mode mode, Collection<String> authorities) {
+        this.mode = mode;
+        this.authorities = List.copyOf(authorities);
+
+        long[] bits = new long[0];
+        for (String authority : this.authorities) {
+            int id = AuthorityInterner.idFor(authority);
+            if ((id >>> 6) >= bits.length) {
+                bits = Arrays.copyOf(bits, (id >>> 6) + 1);
+            }
+            bits[id >>> 6] |= 1L << id;
+        }
+        this.mask = bits;
+    }
+
+    public static AuthorityRequirement anyOf(String... authorities) {
+        return anyOf(Arrays.asList(authorities));
+    }
+
+    public static AuthorityRequirement anyOf(Collection<String> authorities) {
+        return new AuthorityRequirement(Mode.ANY_OF, authorities);
+    }
+
+    public static AuthorityRequirement allOf(String... authorities) {
+        return allOf(Arrays.asList(authorities));
+    }
+
+    public static AuthorityRequirement allOf(Collection<String> authorities) {
+        return new AuthorityRequirement(Mode.ALL_OF, authorities);
+    }
+
+    public boolean isSatisfiedBy(CompactAuthoritySet granted) {
+        long[] grantedWords = granted.words();
+
+        if (mode == Mode.ANY_OF) {
+            int words = Math.min(mask.length, grantedWords.length);
+            for (int i = 0; i < words; i++) {
+                if ((mask[i] & grantedWords[i]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int i = 0; i < mask.length; i++) {
+            long grantedWord = i < grantedWords.length ? grantedWords[i] : 0L;
+            if ((mask[i] & grantedWord) != mask[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isSatisfiedBy(Collection<? extends GrantedAuthority> granted) {
+        return isSatisfiedBy(CompactAuthoritySet.copyOf(granted));
+    }
+
+    @Override
+    public String toString() {
+        return (mode == Mode.ANY_OF ? "anyOf" : "allOf") + authorities;
+    }
+}
@@ -2,6 +2,9 @@ package com.authmat.security;
 
 import org.springframework.security.core.GrantedAuthority;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -9,8 +12,10 @@ import java.util.Set;
  *
  * Resolves the current granted authorities for a given userId at request time.
  *
- * Authorities are never embedded in the JWT. They are resolved live on every
- * authenticated request, ensuring revocation is reflected immediately.
+ * Authorities are never embedded in the JWT. They are resolved on every
+ * authenticated request. When a resolver is wrapped in CachingAuthorityResolver,
+ * revocation is still reflected immediately as long as the cache is subscribed to an
+ * AuthorityInvalidationChannel; otherwise it is reflected within the cache ttl.
  *
  * Implementations:
  *   LocalAuthorityResolver  — AuthMat: resolves directly from own service layer (Redis → DB)
@@ -32,4 +37,22 @@ public interface AuthorityResolver {
      *         a 503 — do not grant access on resolution failure.
      */
     Set<GrantedAuthority> resolve(String userId);
+
+    /**
+     * Resolve authorities for several users at once. Implementations backed by a
+     * remote store should override this with a single batched request; the default
+     * simply resolves each userId in turn.
+     *
+     * @param userIds authenticated subjects to resolve
+     * @return a map holding a non-null entry for every requested userId
+     * @throws AuthorityResolutionException if any userId cannot be resolved.
+     *         Callers must deny access for all of them.
+     */
+    default Map<String, Set<GrantedAuthority>> resolveAll(Collection<String> userIds) {
+        Map<String, Set<GrantedAuthority>> resolved = new HashMap<>(userIds.size() * 2);
+        for (String userId : userIds) {
+            resolved.put(userId, resolve(userId));
+        }
+        return resolved;
+    }
 }
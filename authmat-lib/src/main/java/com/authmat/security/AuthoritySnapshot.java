@@ -0,0 +1,31 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+
+/**
+ * A user's authorities together with the version AuthMat assigned to that set.
+ *
+ * {@code version} is an ETag-style stamp that increases whenever the user's
+ * authorities change. {@link #UNVERSIONED} marks sets from resolvers that do not
+ * track versions; those are always treated as possibly stale.
+ *
+ * The authorities are held as a {@link CompactAuthoritySet} of interned instances.
+ */
+public record AuthoritySnapshot(Set<GrantedAuthority> authorities, long version) {
+    public static final long UNVERSIONED = -1L;
+
+    public AuthoritySnapshot {
+        if (authorities == null) throw new IllegalArgumentException("authorities must not be null");
+        authorities = CompactAuthoritySet.copyOf(authorities);
+    }
+
+    public static AuthoritySnapshot unversioned(Set<GrantedAuthority> authorities) {
+        return new AuthoritySnapshot(authorities, UNVERSIONED);
+    }
+
+    public boolean isVersioned() {
+        return version != UNVERSIONED;
+    }
+}
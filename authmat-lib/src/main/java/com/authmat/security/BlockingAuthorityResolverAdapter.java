@@ -0,0 +1,48 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Set;
+
+/**
+ * BlockingAuthorityResolverAdapter
+ *
+ * Exposes a blocking {@link AuthorityResolver} as a {@link ReactiveAuthorityResolver}
+ * by running each call on a bounded elastic scheduler, keeping it off the event loop.
+ * The default {@link Schedulers#boundedElastic()} caps the number of threads and
+ * queues excess work, so a slow authority store applies back-pressure instead of
+ * spawning unbounded threads.
+ *
+ * Failures other than {@link AuthorityResolutionException} are wrapped in one, so the
+ * fail-closed contract holds for whatever the delegate throws.
+ */
+public class BlockingAuthorityResolverAdapter implements ReactiveAuthorityResolver {
+    private final AuthorityResolver delegate;
+    private final Scheduler scheduler;
+
+    public BlockingAuthorityResolverAdapter(AuthorityResolver delegate) {
+        this(delegate, Schedulers.boundedElastic());
+    }
+
+    public BlockingAuthorityResolverAdapter(AuthorityResolver delegate, Scheduler scheduler) {
+        Assert.notNull(delegate, "delegate must not be null");
+        Assert.notNull(scheduler, "scheduler must not be null");
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<Set<GrantedAuthority>> resolve(String userId) {
+        return Mono.fromCallable(() -> delegate.resolve(userId))
+                .subscribeOn(scheduler)
+                .switchIfEmpty(Mono.error(() -> new AuthorityResolutionException(
+                        "Authority resolver returned no result for userId=" + userId)))
+                .onErrorMap(e -> !(e instanceof AuthorityResolutionException),
+                        e -> new AuthorityResolutionException(
+                                "Authority resolution failed for userId=" + userId, e));
+    }
+}
@@ -0,0 +1,154 @@
+package com.authmat.security;
+
+import com.authmat.events.AuthoritiesChangedEvent;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * CachingAuthorityResolver
+ *
+ * Decorates any {@link AuthorityResolver} with a bounded in-process cache so that
+ * {@link GatewayIdentityFilter} does not pay a remote round trip on every request.
+ *
+ * Behaviour:
+ *   ttl          — hard upper bound on how long a resolved set may be served.
+ *   refreshAhead — once an entry is older than this, the next read triggers an
+ *                  asynchronous reload while the current value keeps being served.
+ *                  Must be shorter than ttl.
+ *   maximumSize  — bound on cached users; eviction is frequency-based (W-TinyLFU).
+ *
+ * When the delegate is a {@link VersionedAuthorityResolver}, refreshes are conditional:
+ * an unchanged set costs a "not modified" reply and the cached Set instance is kept
+ * as-is instead of being rebuilt.
+ *
+ * Failure handling is fail-closed: a failed initial load surfaces as
+ * {@link AuthorityResolutionException}, and a failed refresh keeps the previous value
+ * only until its ttl runs out, never beyond.
+ *
+ * Refreshes run on refreshExecutor. By default each refresh gets its own virtual thread,
+ * so a slow authority store never occupies the shared ForkJoinPool and there is
+ * nothing to shut down.
+ *
+ * Hit/miss counts and load times are available from {@link #stats()}.
+ *
+ * Subscribe the resolver to an {@link AuthorityInvalidationChannel} so that revocations
+ * evict the user's entry immediately instead of waiting for the ttl.
+ */
+@Slf4j
+public class CachingAuthorityResolver implements AuthorityResolver, AuthorityInvalidationListener {
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(4);
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final Executor DEFAULT_REFRESH_EXECUTOR =
+            task -> Thread.ofVirtual().name("authority-refresh").start(task);
+
+    private final AuthorityResolver delegate;
+    private final LoadingCache<String, AuthoritySnapshot> cache;
+
+    @Builder
+    public CachingAuthorityResolver(
+            AuthorityResolver delegate,
+            Duration ttl,
+            Duration refreshAhead,
+            Long maximumSize,
+            Executor refreshExecutor,
+            Ticker ticker
+    ) {
+        Assert.notNull(delegate, "delegate must not be null");
+        Duration effectiveTtl = ttl != null ? ttl : DEFAULT_TTL;
+        Duration effectiveRefreshAhead = refreshAhead != null ? refreshAhead : DEFAULT_REFRESH_AHEAD;
+        Assert.isTrue(effectiveRefreshAhead.compareTo(effectiveTtl) < 0, "refreshAhead must be shorter than ttl");
+
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize != null ? maximumSize : DEFAULT_MAXIMUM_SIZE)
+                .expireAfterWrite(effectiveTtl)
+                .refreshAfterWrite(effectiveRefreshAhead)
+                .executor(refreshExecutor != null ? refreshExecutor : DEFAULT_REFRESH_EXECUTOR)
+                .ticker(ticker != null ? ticker : Ticker.systemTicker())
+                .recordStats()
+                .build(new SnapshotLoader());
+    }
+
+    @Override
+    public Set<GrantedAuthority> resolve(String userId) {
+        try {
+            return cache.get(userId).authorities();
+        } catch (AuthorityResolutionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new AuthorityResolutionException("Authority resolution failed for userId=" + userId, e);
+        }
+    }
+
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    @Override
+    public void onAuthoritiesChanged(AuthoritiesChangedEvent event) {
+        // Keep an entry that is already at (or past) the announced version
+        cache.asMap().computeIfPresent(event.userId(), (userId, cached) ->
+                cached.isVersioned() && cached.version() >= event.version() ? cached : null);
+        log.debug("Authorities changed, stale cache entry evicted. userId={} version={}", event.userId(), event.version());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private AuthoritySnapshot load(String userId) {
+        if (delegate instanceof VersionedAuthorityResolver versioned) {
+            return requireSnapshot(userId, versioned.resolveSnapshot(userId));
+        }
+
+        Set<GrantedAuthority> authorities = delegate.resolve(userId);
+        if (authorities == null) {
+            throw new AuthorityResolutionException("Authority resolver returned null for userId=" + userId);
+        }
+        return AuthoritySnapshot.unversioned(authorities);
+    }
+
+    private AuthoritySnapshot reload(String userId, AuthoritySnapshot cached) {
+        if (delegate instanceof VersionedAuthorityResolver versioned && cached.isVersioned()) {
+            return versioned.resolveIfChanged(userId, cached.version())
+                    .map(changed -> requireSnapshot(userId, changed))
+                    .orElse(cached);
+        }
+        return load(userId);
+    }
+
+    private static AuthoritySnapshot requireSnapshot(String userId, AuthoritySnapshot snapshot) {
+        if (snapshot == null) {
+            throw new AuthorityResolutionException("Authority resolver returned null for userId=" + userId);
+        }
+        return snapshot;
+    }
+
+    private final class SnapshotLoader implements CacheLoader<String, AuthoritySnapshot> {
+        @Override
+        public AuthoritySnapshot load(String userId) {
+            return CachingAuthorityResolver.this.load(userId);
+        }
+
+        @Override
+        public AuthoritySnapshot reload(String userId, AuthoritySnapshot cached) {
+            return CachingAuthorityResolver.this.reload(userId, cached);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+
+import java.util.Set;
+
+/**
+ * CoalescingAuthorityResolver
+ *
+ * Decorates an {@link AuthorityResolver} so that a burst of concurrent requests for
+ * the same userId results in a single call to the delegate. Every waiting caller gets
+ * that call's result, or its {@link AuthorityResolutionException}, so the fail-closed
+ * contract is unchanged.
+ *
+ * Typically stacked beneath {@link CachingAuthorityResolver} to protect the backend
+ * on cold starts and after invalidations.
+ */
+public class CoalescingAuthorityResolver implements AuthorityResolver {
+    private final AuthorityResolver delegate;
+    private final SingleFlight<String, Set<GrantedAuthority>> singleFlight = new SingleFlight<>();
+
+    public CoalescingAuthorityResolver(AuthorityResolver delegate) {
+        Assert.notNull(delegate, "delegate must not be null");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Set<GrantedAuthority> resolve(String userId) {
+        return singleFlight.execute(userId, delegate::resolve);
+    }
+}
@@ -0,0 +1,172 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * CompactAuthoritySet
+ *
+ * Immutable {@code Set<GrantedAuthority>} stored as a bitset over
+ * {@link AuthorityInterner} ids. {@code contains} is one map read plus one bit test,
+ * iteration hands out the canonical interned instances, and nothing is allocated per
+ * call once the set is built.
+ *
+ * Elements are identified by {@link GrantedAuthority#getAuthority()} only; any other
+ * state a custom GrantedAuthority carries is not retained. Ids are local to the JVM,
+ * so the set serializes as authority names and is re-interned on the way back in.
+ */
+public final class CompactAuthoritySet extends AbstractSet<GrantedAuthority> implements Serializable {
+    private static final long[] NO_WORDS = new long[0];
+    public static final CompactAuthoritySet EMPTY = new CompactAuthoritySet(NO_WORDS, 0);
+
+    private final long[] words;
+    private final int size;
+    private final int hashCode;
+
+    private CompactAuthoritySet(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+        int hash = 0;
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            hash += AuthorityInterner.authorityOf(id).hashCode();
+        }
+        this.hashCode = hash;
+    }
+
+    /**
+     * @return {@code authorities} itself when it already is a CompactAuthoritySet
+     */
+    public static CompactAuthoritySet copyOf(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities instanceof CompactAuthoritySet compact) {
+            return compact;
+        }
+
+        long[] words = NO_WORDS;
+        for (GrantedAuthority authority : authorities) {
+            words = set(words, AuthorityInterner.idFor(authority.getAuthority()));
+        }
+        return of(words);
+    }
+
+    public static CompactAuthoritySet ofNames(Collection<String> authorities) {
+        long[] words = NO_WORDS;
+        for (String authority : authorities) {
+            words = set(words, AuthorityInterner.idFor(authority));
+        }
+        return of(words);
+    }
+
+    public boolean containsAuthority(String authority) {
+        return isSet(AuthorityInterner.idOf(authority));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof GrantedAuthority authority && containsAuthority(authority.getAuthority());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<GrantedAuthority> iterator() {
+        return new Iterator<>() {
+            private int next = nextId(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public GrantedAuthority next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                GrantedAuthority authority = AuthorityInterner.authorityOf(next);
+                next = nextId(next + 1);
+                return authority;
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof CompactAuthoritySet other) {
+            return Arrays.equals(words, other.words);
+        }
+        return super.equals(o);
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(stream().map(GrantedAuthority::getAuthority).toArray(String[]::new));
+    }
+
+    /** Backing bitset; callers must not modify it. */
+    long[] words() {
+        return words;
+    }
+
+    private boolean isSet(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int word = id >>> 6;
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    private int nextId(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word >= words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    private static CompactAuthoritySet of(long[] words) {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size == 0 ? EMPTY : new CompactAuthoritySet(words, size);
+    }
+
+    private record SerializedForm(String[] authorities) implements Serializable {
+        @Serial
+        private Object readResolve() {
+            return ofNames(Arrays.asList(authorities));
+        }
+    }
+
+    private static long[] set(long[] words, int id) {
+        int word = id >>> 6;
+        long[] target = word < words.length ? words : Arrays.copyOf(words, word + 1);
+        target[word] |= 1L << id;
+        return target;
+    }
+}
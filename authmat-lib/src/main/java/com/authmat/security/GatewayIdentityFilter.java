@@ -1,15 +1,17 @@
 package com.authmat.security;
 
+import com.authmat.security.audit.AsyncAuditPipeline;
+import com.authmat.security.audit.AuditEvent;
+import com.authmat.security.audit.AuditPublisher;
+import com.authmat.security.context.RequestContext;
+import com.authmat.security.context.RequestIdGenerator;
+import com.authmat.tool.logging.RateLimitedLogger;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
-import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -21,7 +23,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.time.Instant;
+import java.time.Clock;
 import java.util.*;
 
 /**
@@ -118,26 +120,63 @@ import java.util.*;
  */
 @Slf4j
 public class GatewayIdentityFilter extends OncePerRequestFilter {
-    private static final Logger AUDIT = LoggerFactory.getLogger("AUDIT");
-
     public static final String GATEWAY_SECRET_HEADER = "X-Gateway-Secret";
     public static final String USER_HEADER           = "X-Authenticated-User";
     public static final String REQUEST_ID_HEADER     = "X-Request-Id";
     public static final String FORWARDED_IP_HEADER   = "X-Forwarded-For";
 
+    public static final String BYPASS_CATEGORY               = "gateway.bypass";
+    public static final String MISSING_IDENTITY_CATEGORY     = "gateway.missing-identity";
+    public static final String AUTHORITY_RESOLUTION_CATEGORY = "gateway.authority-resolution";
+    public static final String UNEXPECTED_CATEGORY           = "gateway.unexpected";
+
     private final byte[] expectedSecretBytes;
-    private final ObjectMapper objectMapper;
     private final AuthorityResolver authorityResolver;
+    private final AuditPublisher auditPublisher;
+    private final RateLimitedLogger rateLimitedLog = RateLimitedLogger.builder()
+            .logger(log)
+            .build();
+    private final PreEncodedErrorResponse.TimestampCache timestamps;
+    private final PreEncodedErrorResponse forbidden;
+    private final PreEncodedErrorResponse unauthorized;
+    private final PreEncodedErrorResponse unavailable;
+    private final PreEncodedErrorResponse internalError;
 
+    /**
+     * Audit events go through the process-wide {@link AsyncAuditPipeline#shared()}
+     * pipeline writing to the "AUDIT" logger.
+     */
     public GatewayIdentityFilter(
             String expectedGatewaySecret,
             ObjectMapper objectMapper,
             AuthorityResolver authorityResolver
+    ) {
+        this(expectedGatewaySecret, objectMapper, authorityResolver, null);
+    }
+
+    /**
+     * @param auditPublisher publisher for audit events, managed by the caller;
+     *                       {@code null} to use {@link AsyncAuditPipeline#shared()}
+     */
+    public GatewayIdentityFilter(
+            String expectedGatewaySecret,
+            ObjectMapper objectMapper,
+            AuthorityResolver authorityResolver,
+            AuditPublisher auditPublisher
     ) {
         Assert.hasText(expectedGatewaySecret, "expectedGatewaySecret must not be blank");
         this.expectedSecretBytes = expectedGatewaySecret.getBytes(StandardCharsets.UTF_8);
-        this.objectMapper = objectMapper;
         this.authorityResolver = authorityResolver;
+        this.auditPublisher = auditPublisher != null ? auditPublisher : AsyncAuditPipeline.shared();
+        this.timestamps = new PreEncodedErrorResponse.TimestampCache(Clock.systemUTC());
+        this.forbidden = new PreEncodedErrorResponse(
+                HttpServletResponse.SC_FORBIDDEN, "Forbidden", objectMapper);
+        this.unauthorized = new PreEncodedErrorResponse(
+                HttpServletResponse.SC_UNAUTHORIZED, "Authentication required", objectMapper);
+        this.unavailable = new PreEncodedErrorResponse(
+                HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Service temporarily unavailable", objectMapper);
+        this.internalError = new PreEncodedErrorResponse(
+                HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error", objectMapper);
     }
 
     @Override
@@ -149,51 +188,110 @@ public class GatewayIdentityFilter extends OncePerRequestFilter {
         String requestId = resolveRequestId(request);
         String clientIp = resolveClientIp(request);
 
-        MDC.put("requestId", requestId);
-        MDC.put("clientIp",  clientIp);
-        MDC.put("method",    request.getMethod());
-        MDC.put("uri",       request.getRequestURI());
+        // Attached before any work so rejections and resolver logs carry the request's MDC
+        RequestContext context = new RequestContext(
+                requestId, clientIp, request.getMethod(), request.getRequestURI(), null);
+        try(RequestContext.Scope ignored = context.attach()){
+            String userId = identify(request, response, requestId, clientIp);
+            if(userId == null){
+                return;
+            }
+
+            try(RequestContext.Scope identified = context.attachUserId(userId)){
+                if(authorize(request, response, userId, requestId, clientIp)){
+                    filterChain.doFilter(request, response);
+                }
+            }
+        }
+    }
 
+    /**
+     * Verifies the gateway secret and reads the forwarded identity, or writes the rejection.
+     *
+     * <p>
+     * Only the filter's own work is guarded here and in {@link #authorize}. Exceptions
+     * thrown further down the chain propagate to the container as usual instead of being
+     * turned into a gateway error after the response may already have been written.
+     * </p>
+     *
+     * @return the forwarded userId, or null if the request was rejected
+     */
+    private String identify(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            String requestId,
+            String clientIp
+    ) throws IOException {
         try {
             addSecurityHeaders(response);
             verifyGatewaySecret(request);
 
-            String userId = Optional.ofNullable(request.getHeader(USER_HEADER))
+            return Optional.ofNullable(request.getHeader(USER_HEADER))
                     .filter(str -> !str.isBlank())
                     .map(String::strip)
                     .orElseThrow(() -> new MissingIdentityHeaderException(USER_HEADER));
+        } catch (InvalidGatewaySecretException e){
+            auditPublisher.publish(AuditEvent.bypassAttempt(clientIp, requestId, request.getRequestURI()));
+            rateLimitedLog.warn(BYPASS_CATEGORY, clientIp,
+                    "Rejected request without a valid gateway secret. requestId={}", requestId);
+            writeError(response, forbidden);
+        } catch (MissingIdentityHeaderException e){
+            rateLimitedLog.error(MISSING_IDENTITY_CATEGORY, clientIp,
+                    "Gateway secret valid but identity header is missing - gateway misconfiguration. " +
+                    "requestId={} missingHeader={}", requestId, e.getMessage());
+            writeError(response, unauthorized);
+        } catch (RuntimeException e){
+            rateLimitedLog.error(UNEXPECTED_CATEGORY, clientIp,
+                    "Unexpected error in GatewayIdentityFilter requestId={}", requestId, e);
+            writeError(response, internalError);
+        }
+        return null;
+    }
 
-            MDC.put("userId", userId);
-
+    /**
+     * Resolves the user's authorities and establishes the SecurityContext, or writes the
+     * rejection. Runs with the userId already in the MDC.
+     *
+     * @return true if the request may continue down the chain
+     */
+    private boolean authorize(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            String userId,
+            String requestId,
+            String clientIp
+    ) throws IOException {
+        try {
             Set<GrantedAuthority> authorities = authorityResolver.resolve(userId);
 
             populateSecurityContext(userId, authorities, request);
 
-            AUDIT.info("GATEWAY AUTH SUCCESS userId={} ip={} requestId{} uri={}",
-                    userId, clientIp, requestId, request.getRequestURI());
-
-            filterChain.doFilter(request, response);
-        } catch (InvalidGatewaySecretException e){
-            AUDIT.warn("GATEWAY_BYPASS_ATTEMPT ip={} requestId={} uri={}",
-                    clientIp, requestId, request.getRequestURI());
-            writeError(response, HttpServletResponse.SC_FORBIDDEN, "Forbidden");
-        } catch (MissingIdentityHeaderException e){
-            log.error("Gateway secret valid but identity header is missing - gateway misconfiguration. " +
-                    "requestId={} missingHeader={}", requestId, e.getMessage());
-            writeError(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
+            auditPublisher.publish(AuditEvent.authSuccess(userId, clientIp, requestId, request.getRequestURI()));
+            return true;
         } catch (AuthorityResolutionException e){
             // Issues with IAM (AuthMat)
-            log.error("Authority resolution failed for request. requestId={} reason={}",
-                    requestId, e.getMessage());
-            writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Service temporarily unavailable");
-        } catch (Exception e){
-            log.error("Unexpected error in GatewayIdentityFilter requestId={}", requestId, e);
-            writeError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error");
-        }finally {
-            MDC.clear();
+            rateLimitedLog.error(AUTHORITY_RESOLUTION_CATEGORY, clientIp,
+                    "Authority resolution failed for request. requestId={} reason={}", requestId, e.getMessage());
+            writeError(response, unavailable);
+        } catch (RuntimeException e){
+            rateLimitedLog.error(UNEXPECTED_CATEGORY, clientIp,
+                    "Unexpected error in GatewayIdentityFilter requestId={}", requestId, e);
+            writeError(response, internalError);
         }
+        return false;
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * Rejections of each kind, including those whose log line was suppressed
+     * by rate limiting; see {@link RateLimitedLogger#count(String)}.
+     */
+    public long rejectionCount(String category) {
+        return rateLimitedLog.count(category);
+    }
+
+    @Override
+    public void destroy() {
+        rateLimitedLog.close();
     }
 
     private void populateSecurityContext(
@@ -209,26 +307,18 @@ public class GatewayIdentityFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
-    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+    private void writeError(HttpServletResponse response, PreEncodedErrorResponse error) throws IOException {
         if(response.isCommitted()){
-            log.warn("Response already committed, cannot write error. status={}", status);
+            log.warn("Response already committed, cannot write error. status={}", error.status());
             return;
         }
-        response.setStatus(status);
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setCharacterEncoding("UTF-8");
-        response.getWriter().write(objectMapper.writeValueAsString(Map.of(
-                "status", status,
-                "error", message,
-                "timestamp", Instant.now().toString()
-        )));
-        response.getWriter().flush(); // pushes whatever is written, to client immidietly
+        error.writeTo(response, timestamps.current());
     }
 
     private String resolveRequestId(HttpServletRequest request){
         String requestId = request.getHeader(REQUEST_ID_HEADER);
         return (requestId != null && !requestId.isBlank()) ?
-                requestId.strip() : UUID.randomUUID().toString();
+                requestId.strip() : RequestIdGenerator.next();
     }
 
     private String resolveClientIp(HttpServletRequest request){
@@ -0,0 +1,37 @@
+package com.authmat.security;
+
+import com.authmat.events.AuthoritiesChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process {@link AuthorityInvalidationChannel}. Events are delivered synchronously
+ * on the publishing thread; a failing listener is logged and does not prevent
+ * delivery to the others.
+ */
+@Slf4j
+public class InMemoryAuthorityInvalidationChannel implements AuthorityInvalidationChannel {
+    private final List<AuthorityInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Subscription subscribe(AuthorityInvalidationListener listener) {
+        Assert.notNull(listener, "listener must not be null");
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    @Override
+    public void publish(AuthoritiesChangedEvent event) {
+        for (AuthorityInvalidationListener listener : listeners) {
+            try {
+                listener.onAuthoritiesChanged(event);
+            } catch (RuntimeException e) {
+                log.error("Authority invalidation listener failed. userId={} version={}",
+                        event.userId(), event.version(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.authmat.security;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * MicroBatchingAuthorityResolver
+ *
+ * Collects the userIds requested within a short window and resolves them with a
+ * single {@link AuthorityResolver#resolveAll} call on the delegate, then hands each
+ * waiting caller its own result.
+ *
+ * Every batch, whether flushed by the timer or by reaching maxBatchSize, is resolved on
+ * dispatchExecutor, never on a caller's thread.
+ *
+ * A batch is dispatched when either:
+ *   window       elapses since the first userId of the batch arrived (default 2 ms), or
+ *   maxBatchSize distinct userIds are pending (default 64).
+ *
+ * Concurrent requests for the same userId within a window share one slot. A caller
+ * waits at most {@code timeout} for its batch; a timeout, a delegate failure or a
+ * userId missing from the delegate's answer all surface as
+ * {@link AuthorityResolutionException}, so the fail-closed contract holds.
+ *
+ * Close the resolver on shutdown to stop its timer thread and the default
+ * dispatchExecutor; a caller-supplied executor is left to the caller. Calls made after
+ * close() fail with {@link AuthorityResolutionException}.
+ */
+@Slf4j
+public class MicroBatchingAuthorityResolver implements AuthorityResolver, AutoCloseable {
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(2);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final AuthorityResolver delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final Executor dispatchExecutor;
+    private final ExecutorService ownedExecutor;
+    private final ScheduledExecutorService timer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<String, CompletableFuture<Set<GrantedAuthority>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    @Builder
+    public MicroBatchingAuthorityResolver(
+            AuthorityResolver delegate,
+            Duration window,
+            Integer maxBatchSize,
+            Duration timeout,
+            Executor dispatchExecutor
+    ) {
+        Assert.notNull(delegate, "delegate must not be null");
+        this.delegate = delegate;
+        this.windowNanos = (window != null ? window : DEFAULT_WINDOW).toNanos();
+        this.maxBatchSize = maxBatchSize != null ? maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+        this.timeout = timeout != null ? timeout : DEFAULT_TIMEOUT;
+        this.ownedExecutor = dispatchExecutor == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.dispatchExecutor = dispatchExecutor != null ? dispatchExecutor : ownedExecutor;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "authority-micro-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Assert.isTrue(this.maxBatchSize > 0, "maxBatchSize must be positive");
+    }
+
+    @Override
+    public Set<GrantedAuthority> resolve(String userId) {
+        CompletableFuture<Set<GrantedAuthority>> result;
+        Map<String, CompletableFuture<Set<GrantedAuthority>>> fullBatch = null;
+
+        lock.lock();
+        try {
+            if (closed) {
+                throw new AuthorityResolutionException("Authority resolver is closed. userId=" + userId);
+            }
+            result = pending.computeIfAbsent(userId, id -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = takePending();
+            } else if (scheduledFlush == null) {
+                fullBatch = scheduleFlush();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            submit(fullBatch);
+        }
+        return await(userId, result);
+    }
+
+    @Override
+    public Map<String, Set<GrantedAuthority>> resolveAll(Collection<String> userIds) {
+        return delegate.resolveAll(userIds);
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+
+        flushPending();
+        timer.shutdown();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private void flushPending() {
+        Map<String, CompletableFuture<Set<GrantedAuthority>>> batch;
+        lock.lock();
+        try {
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+
+        submit(batch);
+    }
+
+    /**
+     * Must be called while holding {@link #lock}.
+     *
+     * @return the pending batch if the timer refused the flush and it must be sent now
+     */
+    private Map<String, CompletableFuture<Set<GrantedAuthority>>> scheduleFlush() {
+        try {
+            scheduledFlush = timer.schedule(this::flushPending, windowNanos, TimeUnit.NANOSECONDS);
+            return null;
+        } catch (RejectedExecutionException e) {
+            return takePending();
+        }
+    }
+
+    private void submit(Map<String, CompletableFuture<Set<GrantedAuthority>>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            dispatchExecutor.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException e) {
+            log.error("Batched authority resolution rejected by executor. batchSize={}", batch.size());
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    /** Must be called while holding {@link #lock}. */
+    private Map<String, CompletableFuture<Set<GrantedAuthority>>> takePending() {
+        Map<String, CompletableFuture<Set<GrantedAuthority>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<Set<GrantedAuthority>>> batch) {
+        Map<String, Set<GrantedAuthority>> resolved = null;
+        Throwable failure = null;
+        boolean returned = false;
+        try {
+            resolved = delegate.resolveAll(batch.keySet());
+            returned = true;
+        } catch (RuntimeException e) {
+            log.error("Batched authority resolution failed. batchSize={} reason={}", batch.size(), e.getMessage());
+            failure = e;
+        } finally {
+            // Runs for Errors too, so no caller is left waiting out its timeout
+            if (!returned && failure == null) {
+                failure = new IllegalStateException("Batched authority resolution aborted");
+            }
+            complete(batch, resolved, failure);
+        }
+    }
+
+    private static void complete(
+            Map<String, CompletableFuture<Set<GrantedAuthority>>> batch,
+            Map<String, Set<GrantedAuthority>> resolved,
+            Throwable failure
+    ) {
+        batch.forEach((userId, result) -> {
+            Set<GrantedAuthority> authorities = resolved == null ? null : resolved.get(userId);
+            if (authorities != null) {
+                result.complete(CompactAuthoritySet.copyOf(authorities));
+            } else if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.completeExceptionally(new AuthorityResolutionException(
+                        "Batched authority resolution returned no entry for userId=" + userId));
+            }
+        });
+    }
+
+    private Set<GrantedAuthority> await(String userId, CompletableFuture<Set<GrantedAuthority>> result) {
+        try {
+            return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // A batch failure is shared by every waiter, so each caller gets its own exception
+            throw new AuthorityResolutionException("Authority resolution failed for userId=" + userId, e.getCause());
+        } catch (TimeoutException e) {
+            throw new AuthorityResolutionException("Authority resolution timed out for userId=" + userId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthorityResolutionException("Interrupted while resolving authorities for userId=" + userId, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.authmat.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * PreEncodedErrorResponse
+ *
+ * JSON error body of the form {"status":403,"error":"Forbidden","timestamp":"..."}
+ * whose fixed parts are encoded to UTF-8 once, at construction. Writing a rejection
+ * only splices in the current timestamp, taken from a {@link TimestampCache} that
+ * formats at most once per millisecond, so the rejection path stays cheap even when
+ * it is hotter than the success path (gateway bypass floods, credential stuffing).
+ */
+final class PreEncodedErrorResponse {
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final int status;
+    private final byte[] prefix;
+
+    PreEncodedErrorResponse(int status, String message, ObjectMapper objectMapper) {
+        this.status = status;
+        try {
+            this.prefix = ("{\"status\":" + status +
+                    ",\"error\":" + objectMapper.writeValueAsString(message) +
+                    ",\"timestamp\":\"").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode error message: " + message, e);
+        }
+    }
+
+    int status() {
+        return status;
+    }
+
+    /**
+     * @return the complete body for the given pre-formatted timestamp
+     */
+    byte[] encode(byte[] timestamp) {
+        byte[] body = new byte[prefix.length + timestamp.length + SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(timestamp, 0, body, prefix.length, timestamp.length);
+        System.arraycopy(SUFFIX, 0, body, prefix.length + timestamp.length, SUFFIX.length);
+        return body;
+    }
+
+    void writeTo(HttpServletResponse response, byte[] timestamp) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLength(prefix.length + timestamp.length + SUFFIX.length);
+
+        ServletOutputStream out = response.getOutputStream();
+        out.write(prefix);
+        out.write(timestamp);
+        out.write(SUFFIX);
+        out.flush(); // pushes whatever is written, to client immediately
+    }
+
+    /**
+     * ISO-8601 timestamp bytes, re-formatted only when the clock has moved on to a new
+     * millisecond. The cached value is an immutable pair published through a single
+     * volatile field, so concurrent readers never see a timestamp for the wrong millis.
+     */
+    static final class TimestampCache {
+        private final Clock clock;
+        private volatile Cached cached = new Cached(Long.MIN_VALUE, new byte[0]);
+
+        TimestampCache(Clock clock) {
+            this.clock = clock;
+        }
+
+        byte[] current() {
+            long now = clock.millis();
+            Cached snapshot = cached;
+            if (snapshot.millis() == now) {
+                return snapshot.bytes();
+            }
+
+            byte[] bytes = Instant.ofEpochMilli(now).toString().getBytes(StandardCharsets.US_ASCII);
+            cached = new Cached(now, bytes);
+            return bytes;
+        }
+
+        private record Cached(long millis, byte[] bytes) {}
+    }
+}
@@ -0,0 +1,26 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * ReactiveAuthorityResolver
+ *
+ * Non-blocking counterpart of {@link AuthorityResolver}, for services running on an
+ * event loop (WebFlux on Netty) where a blocking call would stall every request
+ * sharing the loop thread.
+ *
+ * Contract (same as {@link AuthorityResolver}):
+ *   Emit exactly one, possibly empty, set of authorities for the user.
+ *   Signal {@link AuthorityResolutionException} on failure; never complete empty
+ *   and never fall back to a default authority set. Callers deny access on error.
+ *
+ * Existing blocking resolvers can be used through {@link BlockingAuthorityResolverAdapter}.
+ */
+@FunctionalInterface
+public interface ReactiveAuthorityResolver {
+
+    Mono<Set<GrantedAuthority>> resolve(String userId);
+}
@@ -0,0 +1,202 @@
+package com.authmat.security;
+
+import com.authmat.security.audit.AsyncAuditPipeline;
+import com.authmat.security.audit.AuditEvent;
+import com.authmat.security.audit.AuditPublisher;
+import com.authmat.security.context.RequestContext;
+import com.authmat.security.context.RequestIdGenerator;
+import com.authmat.tool.logging.RateLimitedLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+
+/**
+ * ReactiveGatewayIdentityFilter
+ *
+ * WebFlux counterpart of {@link GatewayIdentityFilter} with the same gateway header
+ * contract ({@code X-Gateway-Secret}, {@code X-Authenticated-User}, {@code X-Request-Id},
+ * {@code X-Forwarded-For}), the same error bodies and the same audit events.
+ *
+ * Differences from the servlet filter:
+ *   Authorities come from a {@link ReactiveAuthorityResolver}; wrap a blocking
+ *   {@link AuthorityResolver} in {@link BlockingAuthorityResolverAdapter}.
+ *   The authentication is published through {@link ReactiveSecurityContextHolder}
+ *   and the {@link RequestContext} is placed in the Reactor context under
+ *   {@code RequestContext.class}, since thread-bound MDC does not follow a
+ *   reactive pipeline across threads.
+ *
+ * The chain is subscribed exactly once on success and never on rejection; errors
+ * raised downstream are not turned into gateway errors.
+ */
+@Slf4j
+public class ReactiveGatewayIdentityFilter implements WebFilter, DisposableBean {
+    private final byte[] expectedSecretBytes;
+    private final ReactiveAuthorityResolver authorityResolver;
+    private final AuditPublisher auditPublisher;
+    private final RateLimitedLogger rateLimitedLog = RateLimitedLogger.builder()
+            .logger(log)
+            .build();
+    private final PreEncodedErrorResponse.TimestampCache timestamps;
+    private final PreEncodedErrorResponse forbidden;
+    private final PreEncodedErrorResponse unauthorized;
+    private final PreEncodedErrorResponse unavailable;
+
+    public ReactiveGatewayIdentityFilter(
+            String expectedGatewaySecret,
+            ObjectMapper objectMapper,
+            ReactiveAuthorityResolver authorityResolver
+    ) {
+        this(expectedGatewaySecret, objectMapper, authorityResolver, null);
+    }
+
+    /**
+     * @param auditPublisher publisher for audit events, managed by the caller;
+     *                       {@code null} to use {@link AsyncAuditPipeline#shared()}
+     */
+    public ReactiveGatewayIdentityFilter(
+            String expectedGatewaySecret,
+            ObjectMapper objectMapper,
+            ReactiveAuthorityResolver authorityResolver,
+            AuditPublisher auditPublisher
+    ) {
+        Assert.hasText(expectedGatewaySecret, "expectedGatewaySecret must not be blank");
+        Assert.notNull(authorityResolver, "authorityResolver must not be null");
+        this.expectedSecretBytes = expectedGatewaySecret.getBytes(StandardCharsets.UTF_8);
+        this.authorityResolver = authorityResolver;
+        this.auditPublisher = auditPublisher != null ? auditPublisher : AsyncAuditPipeline.shared();
+        this.timestamps = new PreEncodedErrorResponse.TimestampCache(Clock.systemUTC());
+        this.forbidden = new PreEncodedErrorResponse(
+                HttpStatus.FORBIDDEN.value(), "Forbidden", objectMapper);
+        this.unauthorized = new PreEncodedErrorResponse(
+                HttpStatus.UNAUTHORIZED.value(), "Authentication required", objectMapper);
+        this.unavailable = new PreEncodedErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Service temporarily unavailable", objectMapper);
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        String requestId = resolveRequestId(headers);
+        String clientIp = resolveClientIp(request);
+        String uri = request.getPath().value();
+
+        addSecurityHeaders(exchange.getResponse().getHeaders());
+
+        if (!isTrustedGateway(headers.getFirst(GatewayIdentityFilter.GATEWAY_SECRET_HEADER))) {
+            auditPublisher.publish(AuditEvent.bypassAttempt(clientIp, requestId, uri));
+            rateLimitedLog.warn(GatewayIdentityFilter.BYPASS_CATEGORY, clientIp,
+                    "Rejected request without a valid gateway secret. requestId={}", requestId);
+            return writeError(exchange, forbidden);
+        }
+
+        String userId = headers.getFirst(GatewayIdentityFilter.USER_HEADER);
+        if (userId == null || userId.isBlank()) {
+            rateLimitedLog.error(GatewayIdentityFilter.MISSING_IDENTITY_CATEGORY, clientIp,
+                    "Gateway secret valid but identity header is missing - gateway misconfiguration. " +
+                    "requestId={} missingHeader={}", requestId, GatewayIdentityFilter.USER_HEADER);
+            return writeError(exchange, unauthorized);
+        }
+        String subject = userId.strip();
+
+        return authorityResolver.resolve(subject)
+                .switchIfEmpty(Mono.error(() -> new AuthorityResolutionException(
+                        "Authority resolver returned no result for userId=" + subject)))
+                .<Authentication>map(authorities ->
+                        new UsernamePasswordAuthenticationToken(subject, null, authorities))
+                .onErrorResume(e -> {
+                    rateLimitedLog.error(GatewayIdentityFilter.AUTHORITY_RESOLUTION_CATEGORY, clientIp,
+                            "Authority resolution failed for request. requestId={} reason={}",
+                            requestId, e.getMessage());
+                    return writeError(exchange, unavailable).then(Mono.empty());
+                })
+                .flatMap(authentication -> {
+                    auditPublisher.publish(AuditEvent.authSuccess(subject, clientIp, requestId, uri));
+                    RequestContext context = new RequestContext(
+                            requestId, clientIp, request.getMethod().name(), uri, subject);
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                            .contextWrite(ctx -> ctx.put(RequestContext.class, context));
+                });
+    }
+
+    /**
+     * Rejections of each kind, including those whose log line was suppressed
+     * by rate limiting; see {@link RateLimitedLogger#count(String)}.
+     */
+    public long rejectionCount(String category) {
+        return rateLimitedLog.count(category);
+    }
+
+    @Override
+    public void destroy() {
+        rateLimitedLog.close();
+    }
+
+    private Mono<Void> writeError(ServerWebExchange exchange, PreEncodedErrorResponse error) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            log.warn("Response already committed, cannot write error. status={}", error.status());
+            return Mono.empty();
+        }
+
+        byte[] body = error.encode(timestamps.current());
+        response.setStatusCode(HttpStatus.valueOf(error.status()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private String resolveRequestId(HttpHeaders headers) {
+        String requestId = headers.getFirst(GatewayIdentityFilter.REQUEST_ID_HEADER);
+        return (requestId != null && !requestId.isBlank()) ?
+                requestId.strip() : RequestIdGenerator.next();
+    }
+
+    private String resolveClientIp(ServerHttpRequest request) {
+        String clientIp = request.getHeaders().getFirst(GatewayIdentityFilter.FORWARDED_IP_HEADER);
+        if (clientIp != null && !clientIp.isBlank()) {
+            return clientIp.split(",")[0].strip();
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress == null ? null : remoteAddress.getHostString();
+    }
+
+    private void addSecurityHeaders(HttpHeaders headers) {
+        headers.set("X-Content-Type-Options", "nosniff");
+        headers.set("X-Frame-Options", "DENY");
+        headers.set("Referrer-Policy", "strict-origin-when-cross-origin");
+        headers.set("Cache-Control", "no-cache, no-store, must-revalidate");
+        headers.set("Pragma", "no-cache");
+        headers.set("Expires", "0");
+    }
+
+    /**
+     * Constant-time comparison; see {@link GatewayIdentityFilter} for why
+     * {@link MessageDigest#isEqual} is used.
+     */
+    private boolean isTrustedGateway(String gatewaySecret) {
+        return gatewaySecret != null &&
+                MessageDigest.isEqual(gatewaySecret.getBytes(StandardCharsets.UTF_8), expectedSecretBytes);
+    }
+}
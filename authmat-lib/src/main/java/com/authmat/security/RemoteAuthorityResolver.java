@@ -0,0 +1,190 @@
+package com.authmat.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * RemoteAuthorityResolver
+ *
+ * Resolves authorities from AuthMat's internal authority endpoint over HTTP, using the
+ * JDK {@link HttpClient}. Built to be called from virtual threads:
+ *
+ *   No monitors are held around I/O, so a blocked caller never pins its carrier
+ *   thread; the call waits on a CompletableFuture, which unmounts cleanly.
+ *   At most {@code maxConcurrentCalls} requests are in flight; further callers wait
+ *   for a permit, but only within their own deadline.
+ *   {@code timeout} is a deadline for the whole call — permit wait, connect, headers
+ *   and body. On expiry the exchange is cancelled.
+ *   The shared client prefers HTTP/2, so concurrent calls are multiplexed over one
+ *   connection; against HTTP/1.1 servers pooled keep-alive connections are reused.
+ *
+ * Endpoint contract:
+ *   GET {baseUri}{authoritiesPath with {userId} substituted}
+ *   The path is appended to baseUri's own path, so a baseUri of
+ *   http://authmat:8080/api calls http://authmat:8080/api/internal/users/{userId}/authorities.
+ *   200 with either ["ROLE_USER", ...] or {"authorities": ["ROLE_USER", ...]}
+ *
+ * Any other status, a malformed body, a timeout or an I/O error surfaces as
+ * {@link AuthorityResolutionException}, so callers fail closed. Wrap the resolver in
+ * {@link CachingAuthorityResolver} to avoid a round trip per request.
+ */
+@Slf4j
+public class RemoteAuthorityResolver implements AuthorityResolver {
+    public static final String DEFAULT_AUTHORITIES_PATH = "/internal/users/{userId}/authorities";
+    public static final int DEFAULT_MAX_CONCURRENT_CALLS = 64;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(2);
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final String USER_ID_PLACEHOLDER = "{userId}";
+    private static final String AUTHORITIES_FIELD = "authorities";
+
+    private final String uriPrefix;
+    private final String authoritiesPath;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final long timeoutNanos;
+
+    @Builder
+    public RemoteAuthorityResolver(
+            URI baseUri,
+            String authoritiesPath,
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            Integer maxConcurrentCalls,
+            Duration timeout,
+            Duration connectTimeout
+    ) {
+        Assert.notNull(baseUri, "baseUri must not be null");
+        Assert.isTrue(baseUri.getRawQuery() == null && baseUri.getRawFragment() == null,
+                "baseUri must not have a query or fragment");
+        String path = authoritiesPath != null ? authoritiesPath : DEFAULT_AUTHORITIES_PATH;
+        String base = baseUri.toString();
+        this.uriPrefix = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.authoritiesPath = path.startsWith("/") ? path : "/" + path;
+        this.httpClient = httpClient != null ? httpClient : HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout != null ? connectTimeout : DEFAULT_CONNECT_TIMEOUT)
+                .build();
+        this.objectMapper = objectMapper != null ? objectMapper : new ObjectMapper();
+        int maxCalls = maxConcurrentCalls != null ? maxConcurrentCalls : DEFAULT_MAX_CONCURRENT_CALLS;
+        Assert.isTrue(maxCalls > 0, "maxConcurrentCalls must be positive");
+        this.permits = new Semaphore(maxCalls);
+        this.timeoutNanos = (timeout != null ? timeout : DEFAULT_TIMEOUT).toNanos();
+        Assert.isTrue(this.authoritiesPath.contains(USER_ID_PLACEHOLDER),
+                "authoritiesPath must contain " + USER_ID_PLACEHOLDER);
+    }
+
+    @Override
+    public Set<GrantedAuthority> resolve(String userId) {
+        long deadline = System.nanoTime() + timeoutNanos;
+
+        try {
+            if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new AuthorityResolutionException(
+                        "Too many in-flight authority requests; gave up waiting for userId=" + userId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthorityResolutionException("Interrupted waiting to resolve authorities for userId=" + userId, e);
+        }
+
+        try {
+            return send(userId, deadline);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return permits currently free; useful as a saturation gauge
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private Set<GrantedAuthority> send(String userId, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new AuthorityResolutionException("Deadline exceeded before calling AuthMat for userId=" + userId);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(uriFor(userId))
+                .timeout(Duration.ofNanos(remaining))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        CompletableFuture<HttpResponse<byte[]>> exchange =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> response;
+        try {
+            response = exchange.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new AuthorityResolutionException("Timed out resolving authorities for userId=" + userId, e);
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthorityResolutionException("Interrupted resolving authorities for userId=" + userId, e);
+        } catch (ExecutionException e) {
+            throw new AuthorityResolutionException(
+                    "Failed to call AuthMat for userId=" + userId + ": " + e.getCause(), e.getCause());
+        }
+
+        if (response.statusCode() != 200) {
+            throw new AuthorityResolutionException(
+                    "AuthMat returned status " + response.statusCode() + " for userId=" + userId);
+        }
+        return parse(userId, response.body());
+    }
+
+    private Set<GrantedAuthority> parse(String userId, byte[] body) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new AuthorityResolutionException("Malformed authority response for userId=" + userId, e);
+        }
+
+        JsonNode names = root != null && root.isObject() ? root.get(AUTHORITIES_FIELD) : root;
+        if (names == null || !names.isArray()) {
+            throw new AuthorityResolutionException("Authority response has no authorities array for userId=" + userId);
+        }
+
+        List<String> authorities = new ArrayList<>(names.size());
+        for (JsonNode name : names) {
+            if (!name.isTextual() || name.asText().isBlank()) {
+                throw new AuthorityResolutionException("Authority response has an invalid entry for userId=" + userId);
+            }
+            authorities.add(name.asText());
+        }
+        return CompactAuthoritySet.ofNames(authorities);
+    }
+
+    private URI uriFor(String userId) {
+        String encoded = URLEncoder.encode(userId, StandardCharsets.UTF_8).replace("+", "%20");
+        return URI.create(uriPrefix + authoritiesPath.replace(USER_ID_PLACEHOLDER, encoded));
+    }
+}
@@ -0,0 +1,298 @@
+package com.authmat.security;
+
+import com.authmat.events.AuthoritiesChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ResilientAuthorityResolver
+ *
+ * Decorates an {@link AuthorityResolver}, typically a {@link RemoteAuthorityResolver},
+ * so that a slow or failing AuthMat cannot drain the servlet thread pool.
+ *
+ * Layers, outermost first:
+ *   Circuit breaker   — a {@link SlidingWindowCircuitBreaker}. While it is open, calls
+ *                       fail fast with {@link AuthorityResolutionException} (a 503 from
+ *                       {@link GatewayIdentityFilter}) without touching the delegate.
+ *   Timeout           — every call, hedged or not, waits at most timeout. Attempts run on
+ *                       attemptExecutor (virtual threads by default), so a delegate that
+ *                       hangs costs the caller no more than timeout and the overrun is
+ *                       counted by the breaker as a failure.
+ *   Hedging           — optional. If the delegate has not answered after the p95 of
+ *                       recent call latencies (never less than hedgeDelayFloor), a second
+ *                       attempt is started and the first success wins.
+ *   Stale-while-error — optional, enabled by setting maxStaleness. The last successful
+ *                       result per user is kept and served when the delegate fails or
+ *                       the breaker is open, but only while it is younger than
+ *                       maxStaleness; beyond that the call fails closed as usual.
+ *                       Revocations received through an
+ *                       {@link AuthorityInvalidationChannel} drop the user's stale entry.
+ *
+ * Time for the breaker and the staleness bound comes from the injected {@link Clock}.
+ *
+ * Close the resolver on shutdown to stop the default attemptExecutor; a caller-supplied
+ * executor is left to the caller. Calls made after close() fail with
+ * {@link AuthorityResolutionException}.
+ */
+@Slf4j
+public class ResilientAuthorityResolver implements AuthorityResolver, AuthorityInvalidationListener, AutoCloseable {
+    public static final Duration DEFAULT_HEDGE_DELAY_FLOOR = Duration.ofMillis(20);
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    public static final long DEFAULT_MAX_STALE_ENTRIES = 10_000;
+
+    private final AuthorityResolver delegate;
+    private final Clock clock;
+    private final SlidingWindowCircuitBreaker circuitBreaker;
+    private final boolean hedging;
+    private final Executor attemptExecutor;
+    private final ExecutorService ownedExecutor;
+    private final long timeoutNanos;
+    private final LatencyWindow latencies;
+    private final long maxStalenessMillis;
+    private final Cache<String, StaleEntry> stale;
+    private volatile boolean closed;
+
+    private record StaleEntry(Set<GrantedAuthority> authorities, long resolvedAtMillis) {}
+
+    @Builder
+    public ResilientAuthorityResolver(
+            AuthorityResolver delegate,
+            Clock clock,
+            SlidingWindowCircuitBreaker circuitBreaker,
+            boolean hedging,
+            Duration hedgeDelayFloor,
+            Executor attemptExecutor,
+            Duration timeout,
+            Duration maxStaleness,
+            Long maxStaleEntries
+    ) {
+        Assert.notNull(delegate, "delegate must not be null");
+        this.delegate = delegate;
+        this.clock = clock != null ? clock : Clock.systemUTC();
+        this.circuitBreaker = circuitBreaker != null ?
+                circuitBreaker : SlidingWindowCircuitBreaker.builder().clock(this.clock).build();
+        this.hedging = hedging;
+        this.ownedExecutor = attemptExecutor == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.attemptExecutor = attemptExecutor != null ? attemptExecutor : ownedExecutor;
+        this.timeoutNanos = (timeout != null ? timeout : DEFAULT_TIMEOUT).toNanos();
+        this.latencies = new LatencyWindow((hedgeDelayFloor != null ? hedgeDelayFloor : DEFAULT_HEDGE_DELAY_FLOOR).toNanos());
+
+        this.maxStalenessMillis = maxStaleness != null ? maxStaleness.toMillis() : 0;
+        this.stale = maxStaleness == null ? null : Caffeine.newBuilder()
+                .maximumSize(maxStaleEntries != null ? maxStaleEntries : DEFAULT_MAX_STALE_ENTRIES)
+                .expireAfterWrite(maxStaleness)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(this.clock.millis()))
+                .build();
+    }
+
+    @Override
+    public Set<GrantedAuthority> resolve(String userId) {
+        if (closed) {
+            throw new AuthorityResolutionException("Authority resolver is closed. userId=" + userId);
+        }
+        SlidingWindowCircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            return staleOrThrow(userId, new AuthorityResolutionException(
+                    "Authority resolution suspended: circuit breaker is open"));
+        }
+
+        Set<GrantedAuthority> authorities;
+        try {
+            authorities = hedging ? resolveHedged(userId) : resolveWithTimeout(userId);
+        } catch (RuntimeException e) {
+            permit.onFailure();
+            return staleOrThrow(userId, e instanceof AuthorityResolutionException resolutionException ?
+                    resolutionException : new AuthorityResolutionException(
+                            "Authority resolution failed for userId=" + userId, e));
+        }
+
+        permit.onSuccess();
+        if (stale != null) {
+            stale.put(userId, new StaleEntry(authorities, clock.millis()));
+        }
+        return authorities;
+    }
+
+    @Override
+    public void onAuthoritiesChanged(AuthoritiesChangedEvent event) {
+        if (stale != null) {
+            stale.invalidate(event.userId());
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    public SlidingWindowCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    /**
+     * @return the delay after which a second attempt is currently started
+     */
+    public Duration hedgeDelay() {
+        return Duration.ofNanos(latencies.hedgeDelayNanos());
+    }
+
+    private Set<GrantedAuthority> resolveWithTimeout(String userId) {
+        CompletableFuture<Set<GrantedAuthority>> call =
+                CompletableFuture.supplyAsync(() -> delegate.resolve(userId), attemptExecutor);
+        try {
+            return call.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new AuthorityResolutionException("Timed out resolving authorities for userId=" + userId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthorityResolutionException("Interrupted resolving authorities for userId=" + userId, e);
+        } catch (ExecutionException e) {
+            throw unwrap(userId, e);
+        } finally {
+            call.cancel(true);
+        }
+    }
+
+    private Set<GrantedAuthority> resolveHedged(String userId) {
+        long start = System.nanoTime();
+        CompletableFuture<Set<GrantedAuthority>> winner = new CompletableFuture<>();
+        AtomicInteger failedAttempts = new AtomicInteger();
+
+        CompletableFuture<Set<GrantedAuthority>> primary = attempt(userId, winner, failedAttempts, 2);
+        CompletableFuture<Set<GrantedAuthority>> hedge = null;
+        try {
+            try {
+                return record(start, winner.get(latencies.hedgeDelayNanos(), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                log.debug("Hedging authority resolution. userId={} delay={}", userId, hedgeDelay());
+                hedge = attempt(userId, winner, failedAttempts, 2);
+            }
+
+            long remaining = timeoutNanos - (System.nanoTime() - start);
+            return record(start, winner.get(remaining, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            throw new AuthorityResolutionException("Timed out resolving authorities for userId=" + userId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthorityResolutionException("Interrupted resolving authorities for userId=" + userId, e);
+        } catch (ExecutionException e) {
+            throw unwrap(userId, e);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Starts one attempt. The first success completes {@code winner}; it completes
+     * exceptionally only once {@code attempts} attempts have failed. A primary that
+     * fails before the hedge delay is therefore followed by the hedge, acting as a
+     * single retry. The losing attempt is cancelled but, being a plain blocking call,
+     * runs to completion on its own thread.
+     */
+    private CompletableFuture<Set<GrantedAuthority>> attempt(
+            String userId,
+            CompletableFuture<Set<GrantedAuthority>> winner,
+            AtomicInteger failedAttempts,
+            int attempts
+    ) {
+        CompletableFuture<Set<GrantedAuthority>> future =
+                CompletableFuture.supplyAsync(() -> delegate.resolve(userId), attemptExecutor);
+        future.whenComplete((authorities, error) -> {
+            if (error == null) {
+                winner.complete(authorities);
+            } else if (failedAttempts.incrementAndGet() >= attempts) {
+                winner.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            }
+        });
+        return future;
+    }
+
+    private static RuntimeException unwrap(String userId, ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new AuthorityResolutionException("Authority resolution failed for userId=" + userId, e.getCause());
+    }
+
+    private Set<GrantedAuthority> record(long start, Set<GrantedAuthority> authorities) {
+        latencies.record(System.nanoTime() - start);
+        return authorities;
+    }
+
+    private Set<GrantedAuthority> staleOrThrow(String userId, AuthorityResolutionException failure) {
+        if (stale != null) {
+            StaleEntry entry = stale.getIfPresent(userId);
+            if (entry != null && clock.millis() - entry.resolvedAtMillis() <= maxStalenessMillis) {
+                log.warn("Serving stale authorities. userId={} ageMillis={} reason={}",
+                        userId, clock.millis() - entry.resolvedAtMillis(), failure.getMessage());
+                return entry.authorities();
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Ring of the most recent call latencies. The p95 is recomputed every
+     * {@code RECOMPUTE_EVERY} samples rather than per call, and published through a
+     * single volatile read for the hot path.
+     */
+    private static final class LatencyWindow {
+        private static final int SIZE = 128;
+        private static final int RECOMPUTE_EVERY = 16;
+
+        private final long floorNanos;
+        private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+        private final AtomicLong recorded = new AtomicLong();
+        private volatile long hedgeDelayNanos;
+
+        private LatencyWindow(long floorNanos) {
+            this.floorNanos = floorNanos;
+            this.hedgeDelayNanos = floorNanos;
+        }
+
+        private long hedgeDelayNanos() {
+            return hedgeDelayNanos;
+        }
+
+        private void record(long latencyNanos) {
+            long count = recorded.incrementAndGet();
+            samples.set((int) ((count - 1) % SIZE), latencyNanos);
+            if (count % RECOMPUTE_EVERY == 0) {
+                int filled = (int) Math.min(count, SIZE);
+                long[] sorted = new long[filled];
+                for (int i = 0; i < filled; i++) {
+                    sorted[i] = samples.get(i);
+                }
+                Arrays.sort(sorted);
+                long p95 = sorted[(int) Math.ceil(filled * 0.95) - 1];
+                hedgeDelayNanos = Math.max(floorNanos, p95);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.authmat.security;
+
+import lombok.Builder;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SlidingWindowCircuitBreaker
+ *
+ * Lock-free circuit breaker over a time-based sliding window. Outcomes are counted in
+ * {@code windowBuckets} buckets spanning {@code window}; each bucket is an immutable
+ * value swapped in with a CAS, so recording never blocks.
+ *
+ * States:
+ *   CLOSED    — calls pass. Trips to OPEN once the window holds at least
+ *               minimumCalls outcomes and the failure rate reaches
+ *               failureRateThreshold.
+ *   OPEN      — calls are refused until openDuration has elapsed.
+ *   HALF_OPEN — exactly one trial call is let through; its success closes the
+ *               breaker with an empty window, its failure re-opens it. If the trial
+ *               never reports back, another one is allowed after openDuration.
+ *
+ * Outcomes are reported through the {@link Permit} returned by {@link #tryAcquire()}.
+ * Only the trial's own permit can move the breaker out of HALF_OPEN; calls admitted
+ * while it was still CLOSED that finish late are merely recorded.
+ *
+ * Time comes from the injected {@link Clock}, so the breaker can be driven by a test
+ * clock.
+ */
+public final class SlidingWindowCircuitBreaker {
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final int DEFAULT_MINIMUM_CALLS = 20;
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+    public static final int DEFAULT_WINDOW_BUCKETS = 10;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(5);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private record Transition(State state, long sinceMillis) {}
+
+    private record Bucket(long epoch, int successes, int failures) {}
+
+    /**
+     * Admission to make one call. Exactly one of the methods must be called once the
+     * call has finished.
+     */
+    public interface Permit {
+        void onSuccess();
+
+        void onFailure();
+    }
+
+    private final Clock clock;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final long openMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final AtomicReference<Transition> transition;
+    private final Permit closedPermit = new Permit() {
+        @Override
+        public void onSuccess() {
+            record(true);
+        }
+
+        @Override
+        public void onFailure() {
+            record(false);
+            Transition current = transition.get();
+            if (current.state() == State.CLOSED && shouldTrip()) {
+                transition.compareAndSet(current, new Transition(State.OPEN, clock.millis()));
+            }
+        }
+    };
+
+    @Builder
+    public SlidingWindowCircuitBreaker(
+            Clock clock,
+            Double failureRateThreshold,
+            Integer minimumCalls,
+            Duration window,
+            Integer windowBuckets,
+            Duration openDuration
+    ) {
+        this.clock = clock != null ? clock : Clock.systemUTC();
+        this.failureRateThreshold = failureRateThreshold != null ? failureRateThreshold : DEFAULT_FAILURE_RATE_THRESHOLD;
+        this.minimumCalls = minimumCalls != null ? minimumCalls : DEFAULT_MINIMUM_CALLS;
+        this.bucketCount = windowBuckets != null ? windowBuckets : DEFAULT_WINDOW_BUCKETS;
+        long windowMillis = (window != null ? window : DEFAULT_WINDOW).toMillis();
+        this.openMillis = (openDuration != null ? openDuration : DEFAULT_OPEN_DURATION).toMillis();
+        Assert.isTrue(this.failureRateThreshold > 0 && this.failureRateThreshold <= 1,
+                "failureRateThreshold must be in (0, 1]");
+        Assert.isTrue(this.minimumCalls > 0, "minimumCalls must be positive");
+        Assert.isTrue(this.bucketCount > 0, "windowBuckets must be positive");
+        Assert.isTrue(windowMillis >= this.bucketCount, "window must be at least one millisecond per bucket");
+
+        this.bucketMillis = windowMillis / this.bucketCount;
+        this.buckets = new AtomicReferenceArray<>(this.bucketCount);
+        this.transition = new AtomicReference<>(new Transition(State.CLOSED, this.clock.millis()));
+    }
+
+    /**
+     * @return a permit if the caller may proceed, through which it must then report the
+     *         outcome; {@code null} if the call is refused
+     */
+    public Permit tryAcquire() {
+        Transition current = transition.get();
+        if (current.state() == State.CLOSED) {
+            return closedPermit;
+        }
+
+        long now = clock.millis();
+        Transition trial = new Transition(State.HALF_OPEN, now);
+        if (now - current.sinceMillis() >= openMillis && transition.compareAndSet(current, trial)) {
+            return new TrialPermit(trial);
+        }
+        return null;
+    }
+
+    public State state() {
+        return transition.get().state();
+    }
+
+    /** Bound to the HALF_OPEN transition it was issued for; stale once that has moved on. */
+    private final class TrialPermit implements Permit {
+        private final Transition trial;
+
+        private TrialPermit(Transition trial) {
+            this.trial = trial;
+        }
+
+        @Override
+        public void onSuccess() {
+            if (transition.compareAndSet(trial, new Transition(State.CLOSED, clock.millis()))) {
+                for (int i = 0; i < bucketCount; i++) {
+                    buckets.set(i, null);
+                }
+            }
+        }
+
+        @Override
+        public void onFailure() {
+            transition.compareAndSet(trial, new Transition(State.OPEN, clock.millis()));
+        }
+    }
+
+    private void record(boolean success) {
+        long epoch = clock.millis() / bucketMillis;
+        int index = (int) (epoch % bucketCount);
+
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            Bucket next = bucket == null || bucket.epoch() != epoch ?
+                    new Bucket(epoch, success ? 1 : 0, success ? 0 : 1) :
+                    new Bucket(epoch, bucket.successes() + (success ? 1 : 0), bucket.failures() + (success ? 0 : 1));
+            if (buckets.compareAndSet(index, bucket, next)) {
+                return;
+            }
+        }
+    }
+
+    private boolean shouldTrip() {
+        long oldestEpoch = clock.millis() / bucketMillis - bucketCount + 1;
+        long total = 0;
+        long failures = 0;
+
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch() >= oldestEpoch) {
+                total += bucket.successes() + bucket.failures();
+                failures += bucket.failures();
+            }
+        }
+        return total >= minimumCalls && failures >= failureRateThreshold * total;
+    }
+}
@@ -0,0 +1,39 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * VersionedAuthorityResolver
+ *
+ * An {@link AuthorityResolver} whose results carry a version, allowing callers that
+ * already hold a set to ask "has this changed?" instead of re-fetching and re-parsing
+ * the whole set. A remote implementation maps this onto a conditional request
+ * (e.g. {@code If-None-Match} answered by {@code 304 Not Modified}).
+ */
+public interface VersionedAuthorityResolver extends AuthorityResolver {
+
+    /**
+     * Resolve the current authorities of the user together with their version.
+     *
+     * @throws AuthorityResolutionException as for {@link AuthorityResolver#resolve}
+     */
+    AuthoritySnapshot resolveSnapshot(String userId);
+
+    /**
+     * Conditionally resolve the user's authorities.
+     *
+     * @param knownVersion version of the snapshot the caller already holds
+     * @return empty when the authorities are unchanged since {@code knownVersion},
+     *         otherwise the new snapshot
+     * @throws AuthorityResolutionException as for {@link AuthorityResolver#resolve}
+     */
+    Optional<AuthoritySnapshot> resolveIfChanged(String userId, long knownVersion);
+
+    @Override
+    default Set<GrantedAuthority> resolve(String userId) {
+        return resolveSnapshot(userId).authorities();
+    }
+}
@@ -0,0 +1,169 @@
+package com.authmat.security.audit;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncAuditPipeline
+ *
+ * {@link AuditPublisher} that keeps appender I/O off request threads. Publishing only
+ * places the event in a bounded lock-free ring ({@link AuditRingBuffer}); a single
+ * daemon drainer thread takes up to {@code batchSize} events at a time and hands them
+ * to the {@link AuditSink}, waking every {@code flushInterval} when idle.
+ *
+ * When the ring is full the {@link OverflowPolicy} decides:
+ *   DROP  — the event is discarded and counted in {@link #droppedCount()} (default)
+ *   BLOCK — the publishing thread waits for the drainer to free a slot
+ *
+ * {@link #publishedCount()}, {@link #droppedCount()}, {@link #sinkFailureCount()} and
+ * {@link #pendingCount()} are cheap to read and meant to be exported as metrics.
+ *
+ * Close the pipeline on shutdown; pending events are flushed before the drainer stops.
+ *
+ * {@link #shared()} is the process-wide default used by filters built without a
+ * publisher, so any number of filters share one drainer thread. It is closed by a JVM
+ * shutdown hook and must not be closed by callers.
+ */
+@Slf4j
+public class AsyncAuditPipeline implements AuditPublisher, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(10);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private final AuditSink sink;
+    private final AuditRingBuffer ring;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread drainer;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sinkFailures = new LongAdder();
+    private volatile boolean running = true;
+
+    @Builder
+    public AsyncAuditPipeline(
+            AuditSink sink,
+            Integer capacity,
+            Integer batchSize,
+            Duration flushInterval,
+            OverflowPolicy overflowPolicy
+    ) {
+        this.sink = sink != null ? sink : new Slf4jAuditSink();
+        this.ring = new AuditRingBuffer(capacity != null ? capacity : DEFAULT_CAPACITY);
+        this.batchSize = batchSize != null ? batchSize : DEFAULT_BATCH_SIZE;
+        this.flushIntervalNanos = (flushInterval != null ? flushInterval : DEFAULT_FLUSH_INTERVAL).toNanos();
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.DROP;
+        Assert.isTrue(this.batchSize > 0, "batchSize must be positive");
+
+        this.drainer = new Thread(this::drainLoop, "audit-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * The process-wide pipeline writing to {@link Slf4jAuditSink} with default settings.
+     * Started on first use.
+     */
+    public static AsyncAuditPipeline shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    @Override
+    public void publish(AuditEvent event) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        while (!ring.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP || !running) {
+                dropped.increment();
+                return;
+            }
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+        published.increment();
+    }
+
+    public long publishedCount() {
+        return published.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long sinkFailureCount() {
+        return sinkFailures.sum();
+    }
+
+    public int pendingCount() {
+        return ring.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(CLOSE_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (drainer.isAlive()) {
+            log.warn("Audit drainer did not stop within {}. pending={}", CLOSE_TIMEOUT, ring.size());
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+
+        while (true) {
+            boolean stopping = !running;
+            int drained = ring.drainTo(batch, batchSize);
+
+            if (drained == 0) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+
+            try {
+                sink.write(batch);
+            } catch (RuntimeException e) {
+                sinkFailures.add(drained);
+                log.error("Audit sink failed; {} events lost.", drained, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final AsyncAuditPipeline INSTANCE = AsyncAuditPipeline.builder().build();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::close, "audit-drainer-shutdown"));
+        }
+    }
+}
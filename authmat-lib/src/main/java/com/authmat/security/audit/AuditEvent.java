@@ -0,0 +1,37 @@
+package com.authmat.security.audit;
+
+import java.time.Instant;
+
+/**
+ * AuditEvent
+ *
+ * Structured record of a security-relevant decision taken on a request thread. It
+ * carries everything the audit line needs, so it can be written later by a drainer
+ * thread that does not share the request's MDC.
+ */
+public record AuditEvent(
+        Type    type,
+        String  userId,
+        String  clientIp,
+        String  requestId,
+        String  uri,
+        Instant occurredAt
+) {
+    public enum Type {
+        GATEWAY_AUTH_SUCCESS,
+        GATEWAY_BYPASS_ATTEMPT
+    }
+
+    public AuditEvent {
+        if (type       == null) throw new IllegalArgumentException("type must not be null");
+        if (occurredAt == null) throw new IllegalArgumentException("occurredAt must not be null");
+    }
+
+    public static AuditEvent authSuccess(String userId, String clientIp, String requestId, String uri) {
+        return new AuditEvent(Type.GATEWAY_AUTH_SUCCESS, userId, clientIp, requestId, uri, Instant.now());
+    }
+
+    public static AuditEvent bypassAttempt(String clientIp, String requestId, String uri) {
+        return new AuditEvent(Type.GATEWAY_BYPASS_ATTEMPT, null, clientIp, requestId, uri, Instant.now());
+    }
+}
@@ -0,0 +1,13 @@
+package com.authmat.security.audit;
+
+/**
+ * AuditPublisher
+ *
+ * Entry point used on request threads. Implementations must not perform appender or
+ * network I/O inline; see {@link AsyncAuditPipeline}.
+ */
+@FunctionalInterface
+public interface AuditPublisher {
+
+    void publish(AuditEvent event);
+}
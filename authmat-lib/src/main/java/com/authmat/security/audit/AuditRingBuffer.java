@@ -0,0 +1,91 @@
+package com.authmat.security.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * AuditRingBuffer
+ *
+ * Bounded multi-producer / single-consumer ring. Producers claim a slot with one CAS
+ * on the tail and publish it by advancing the slot's sequence; the single consumer
+ * reads slots in order and hands them back by moving their sequence one lap ahead.
+ * No locks are taken on either side.
+ *
+ * Slot i is free for position p when sequence[i] == p, and holds the element for
+ * position p when sequence[i] == p + 1.
+ */
+final class AuditRingBuffer {
+    private final int mask;
+    private final AtomicReferenceArray<AuditEvent> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two, at least 2");
+        }
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the ring is full
+     */
+    boolean offer(AuditEvent event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.setPlain(index, event);
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Single consumer only.
+     *
+     * @return number of events moved into {@code batch}
+     */
+    int drainTo(List<AuditEvent> batch, int maxElements) {
+        long position = head;
+        int drained = 0;
+
+        while (drained < maxElements) {
+            int index = (int) position & mask;
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+            batch.add(elements.getPlain(index));
+            elements.setPlain(index, null);
+            sequences.setRelease(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.authmat.security.audit;
+
+import java.util.List;
+
+/**
+ * AuditSink
+ *
+ * Destination for drained audit events. Called from a single background thread with
+ * batches in publication order; the list is only valid for the duration of the call.
+ *
+ * Implementations:
+ *   Slf4jAuditSink — writes each event to the "AUDIT" logger (default)
+ *   Custom sinks   — e.g. a SIEM forwarder or an append-only store
+ */
+@FunctionalInterface
+public interface AuditSink {
+
+    void write(List<AuditEvent> batch);
+}
@@ -0,0 +1,32 @@
+package com.authmat.security.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Slf4jAuditSink
+ *
+ * Writes audit events to the SLF4J "AUDIT" logger with exactly the line formats the
+ * gateway filter used to log inline, so existing log routing, parsing and alerting keep
+ * working. That includes the historical "requestId{}" (no '=') on success lines.
+ * AuditEvent.occurredAt is not written; the logging backend's own timestamp is.
+ */
+public class Slf4jAuditSink implements AuditSink {
+    private static final Logger AUDIT = LoggerFactory.getLogger("AUDIT");
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            switch (event.type()) {
+                case GATEWAY_AUTH_SUCCESS -> AUDIT.info(
+                        "GATEWAY AUTH SUCCESS userId={} ip={} requestId{} uri={}",
+                        event.userId(), event.clientIp(), event.requestId(), event.uri());
+                case GATEWAY_BYPASS_ATTEMPT -> AUDIT.warn(
+                        "GATEWAY_BYPASS_ATTEMPT ip={} requestId={} uri={}",
+                        event.clientIp(), event.requestId(), event.uri());
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.authmat.security.context;
+
+import org.slf4j.MDC;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * RequestContext
+ *
+ * Immutable identity of the request being served: requestId, clientIp, method, uri and
+ * userId. It is the single source of truth for the request's logging context: on
+ * {@link #attach()} the five MDC keys it owns are set from it (a key whose value is
+ * null is removed), and closing the returned {@link Scope} restores exactly those keys
+ * to their previous values. Other MDC entries are never copied or touched.
+ *
+ * Propagation
+ *   The context is bound to the current thread only. Work handed to another thread
+ *   (virtual threads, executors, CompletableFuture continuations) must be wrapped with
+ *   {@link #wrap(Runnable)}, {@link #wrap(Callable)} or {@link #wrap(Executor)}, which
+ *   capture the caller's context and re-attach it around the task.
+ */
+public record RequestContext(
+        String requestId,
+        String clientIp,
+        String method,
+        String uri,
+        String userId
+) {
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String CLIENT_IP_KEY  = "clientIp";
+    public static final String METHOD_KEY     = "method";
+    public static final String URI_KEY        = "uri";
+    public static final String USER_ID_KEY    = "userId";
+
+    private static final String[] KEYS = {REQUEST_ID_KEY, CLIENT_IP_KEY, METHOD_KEY, URI_KEY, USER_ID_KEY};
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    public RequestContext {
+        if (requestId == null || requestId.isBlank()) throw new IllegalArgumentException("requestId must not be blank");
+    }
+
+    public static Optional<RequestContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Binds this context to the current thread and its MDC.
+     *
+     * @return handle that restores the previous context and MDC when closed
+     */
+    public Scope attach() {
+        RequestContext previous = CURRENT.get();
+        String[] values = {requestId, clientIp, method, uri, userId};
+        String[] previousValues = new String[KEYS.length];
+
+        for (int i = 0; i < KEYS.length; i++) {
+            previousValues[i] = MDC.get(KEYS[i]);
+            putOrRemove(KEYS[i], values[i]);
+        }
+        CURRENT.set(this);
+
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            for (int i = 0; i < KEYS.length; i++) {
+                putOrRemove(KEYS[i], previousValues[i]);
+            }
+        };
+    }
+
+    /**
+     * @return a copy of this context for the given, now authenticated, userId
+     */
+    public RequestContext withUserId(String userId) {
+        return new RequestContext(requestId, clientIp, method, uri, userId);
+    }
+
+    /**
+     * Records the now authenticated userId on this already attached context. Only the
+     * userId MDC key is set and, on close, restored; the other keys stay as
+     * {@link #attach()} left them.
+     *
+     * @return handle that restores this context and the previous userId when closed
+     */
+    public Scope attachUserId(String userId) {
+        RequestContext previous = CURRENT.get();
+        String previousUserId = MDC.get(USER_ID_KEY);
+
+        putOrRemove(USER_ID_KEY, userId);
+        CURRENT.set(withUserId(userId));
+
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            putOrRemove(USER_ID_KEY, previousUserId);
+        };
+    }
+
+    public static Runnable wrap(Runnable task) {
+        RequestContext captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = captured.attach()) {
+                task.run();
+            }
+        };
+    }
+
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        RequestContext captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = captured.attach()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * @return executor that runs every task with the context current at submission time
+     */
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    private static void putOrRemove(String key, String value) {
+        if (value == null) {
+            MDC.remove(key);
+        } else {
+            MDC.put(key, value);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
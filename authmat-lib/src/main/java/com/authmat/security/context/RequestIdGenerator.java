@@ -0,0 +1,49 @@
+package com.authmat.security.context;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RequestIdGenerator
+ *
+ * Generates ULIDs: 48 bits of epoch millis followed by 80 random bits, written as 26
+ * Crockford base32 characters (e.g. {@code 01JAB3K9Z4Q8X2M7N5P6R0S1T2}). Ids sort by
+ * creation time and are unique for practical purposes.
+ *
+ * Unlike {@link java.util.UUID#randomUUID()}, which draws from a shared SecureRandom,
+ * the random part comes from {@link ThreadLocalRandom}, so generation never contends
+ * or blocks. Request ids are correlation handles, not secrets, so a non-cryptographic
+ * source is sufficient.
+ */
+public final class RequestIdGenerator {
+    public static final int LENGTH = 26;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private RequestIdGenerator() {}
+
+    public static String next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static String next(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long randomHigh = random.nextLong() & 0xFFFFL;   // 16 bits
+        long randomLow  = random.nextLong();             // 64 bits
+
+        char[] id = new char[LENGTH];
+
+        // 48-bit timestamp -> 10 characters (the first carries only 3 bits)
+        for (int i = 9; i >= 0; i--) {
+            id[i] = ALPHABET[(int) (epochMillis & 31)];
+            epochMillis >>>= 5;
+        }
+
+        // 80 random bits -> 16 characters, taken from the low word first
+        for (int i = LENGTH - 1; i >= 10; i--) {
+            id[i] = ALPHABET[(int) (randomLow & 31)];
+            randomLow = (randomLow >>> 5) | ((randomHigh & 31) << 59);
+            randomHigh >>>= 5;
+        }
+        return new String(id);
+    }
+}
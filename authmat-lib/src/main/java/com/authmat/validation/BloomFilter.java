@@ -0,0 +1,59 @@
+package com.authmat.validation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimal thread-safe Bloom filter over {@link TokenDigest}s.
+ *
+ * <p>The digest is already a uniformly distributed SHA-256 value, so its words are
+ * used directly for double hashing instead of hashing again.</p>
+ */
+final class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate){
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(TokenDigest digest){
+        for(int i = 0; i < hashCount; i++){
+            long bit = index(digest, i);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+
+            long current;
+            do {
+                current = words.get(word);
+                if((current & mask) != 0){
+                    break;
+                }
+            } while(!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(TokenDigest digest){
+        for(int i = 0; i < hashCount; i++){
+            long bit = index(digest, i);
+            if((words.get((int) (bit >>> 6)) & (1L << bit)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitCount(){
+        return bitCount;
+    }
+
+    private long index(TokenDigest digest, int i){
+        return Math.floorMod(digest.w0() + i * digest.w1(), bitCount);
+    }
+}
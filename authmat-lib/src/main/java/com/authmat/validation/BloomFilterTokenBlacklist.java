@@ -0,0 +1,119 @@
+package com.authmat.validation;
+
+import com.authmat.validation.contracts.RevocableTokenBlacklist;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process {@link RevocableTokenBlacklist} with a Bloom filter in front of an exact,
+ * expiring set of revoked {@link TokenDigest}s.
+ *
+ * <p>Almost every request presents a token that has not been revoked; for those the
+ * filter answers "definitely not" locally in a few nanoseconds, without touching the
+ * exact set. Filter positives are confirmed against the exact set, so a false positive
+ * never blocks a valid token.</p>
+ *
+ * <p>Each entry is only honoured until the revoked token's own {@code exp}. Expired
+ * entries are physically dropped, and the filter is rebuilt without them, by
+ * {@link #rebuild()}, which {@link #scheduleRebuild} runs periodically. Rebuilds are
+ * exclusive with {@code revoke} so no revocation can fall between the old and new
+ * filter; lookups never take a lock.</p>
+ */
+@Slf4j
+public class BloomFilterTokenBlacklist implements RevocableTokenBlacklist {
+    public static final long DEFAULT_EXPECTED_INSERTIONS = 100_000;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Clock clock;
+    private final Map<TokenDigest, Long> revokedUntil = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile BloomFilter filter;
+
+    public BloomFilterTokenBlacklist(){
+        this(DEFAULT_EXPECTED_INSERTIONS, DEFAULT_FALSE_POSITIVE_RATE, Clock.systemUTC());
+    }
+
+    public BloomFilterTokenBlacklist(long expectedInsertions, double falsePositiveRate, Clock clock){
+        if(expectedInsertions < 1){
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if(falsePositiveRate <= 0 || falsePositiveRate >= 1){
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @Override
+    public void revoke(TokenDigest digest, Instant expiresAt){
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if(expiresAtMillis <= clock.millis()){
+            return;
+        }
+
+        rebuildLock.readLock().lock();
+        try {
+            revokedUntil.merge(digest, expiresAtMillis, Math::max);
+            filter.put(digest);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isBlacklisted(TokenDigest digest){
+        if(!filter.mightContain(digest)){
+            return false;
+        }
+        Long expiresAtMillis = revokedUntil.get(digest);
+        return expiresAtMillis != null && expiresAtMillis > clock.millis();
+    }
+
+    /**
+     * Drops expired entries and replaces the filter with one holding only the live
+     * entries, sized for at least {@code expectedInsertions}.
+     *
+     * @return number of entries dropped
+     */
+    public int rebuild(){
+        rebuildLock.writeLock().lock();
+        try {
+            long now = clock.millis();
+            int before = revokedUntil.size();
+            revokedUntil.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+
+            BloomFilter rebuilt = new BloomFilter(
+                    Math.max(expectedInsertions, revokedUntil.size() * 2L), falsePositiveRate);
+            revokedUntil.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+
+            int dropped = before - revokedUntil.size();
+            log.debug("Rebuilt token blacklist filter. live={} dropped={}", revokedUntil.size(), dropped);
+            return dropped;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public ScheduledFuture<?> scheduleRebuild(ScheduledExecutorService scheduler, Duration interval){
+        long periodMillis = interval.toMillis();
+        return scheduler.scheduleAtFixedRate(this::rebuild, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int size(){
+        return revokedUntil.size();
+    }
+}
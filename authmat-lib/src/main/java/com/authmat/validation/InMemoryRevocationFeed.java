@@ -0,0 +1,115 @@
+package com.authmat.validation;
+
+import com.authmat.events.RevocationSnapshot;
+import com.authmat.events.TokenRevokedEvent;
+import com.authmat.validation.contracts.RevocationFeed;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link RevocationFeed} that also acts as the publisher, for tests and
+ * single-node setups.
+ *
+ * <p>The last {@code retainedEvents} events are kept for {@link #since(long)}; older
+ * ones are only reachable through the compacted {@link #snapshot()}, which holds one
+ * entry per revoked token that has not yet expired. Events are delivered to
+ * subscribers synchronously on the publishing thread, after the feed's own state has
+ * been updated.</p>
+ */
+@Slf4j
+public class InMemoryRevocationFeed implements RevocationFeed {
+    public static final int DEFAULT_RETAINED_EVENTS = 10_000;
+
+    private final int retainedEvents;
+    private final Clock clock;
+    private final Deque<TokenRevokedEvent> history = new ArrayDeque<>();
+    private final Map<String, TokenRevokedEvent> live = new LinkedHashMap<>();
+    private final List<Consumer<TokenRevokedEvent>> consumers = new CopyOnWriteArrayList<>();
+    private long sequence;
+
+    public InMemoryRevocationFeed(){
+        this(DEFAULT_RETAINED_EVENTS, Clock.systemUTC());
+    }
+
+    public InMemoryRevocationFeed(int retainedEvents, Clock clock){
+        if(retainedEvents < 1){
+            throw new IllegalArgumentException("retainedEvents must be at least 1");
+        }
+        this.retainedEvents = retainedEvents;
+        this.clock = clock;
+    }
+
+    public TokenRevokedEvent publish(String token, Instant expiresAt){
+        return publish(TokenDigest.of(token), expiresAt);
+    }
+
+    public TokenRevokedEvent publish(TokenDigest digest, Instant expiresAt){
+        TokenRevokedEvent event;
+        synchronized (this){
+            event = TokenRevokedEvent.of(++sequence, digest.toHex(), expiresAt);
+            history.addLast(event);
+            if(history.size() > retainedEvents){
+                history.removeFirst();
+            }
+            live.put(event.tokenDigest(), event);
+        }
+
+        for(Consumer<TokenRevokedEvent> consumer : consumers){
+            try {
+                consumer.accept(event);
+            } catch (RuntimeException e){
+                log.error("Revocation consumer failed. sequence={}", event.sequence(), e);
+            }
+        }
+        return event;
+    }
+
+    @Override
+    public synchronized RevocationSnapshot snapshot(){
+        compact();
+        return new RevocationSnapshot(sequence, new ArrayList<>(live.values()));
+    }
+
+    @Override
+    public synchronized Optional<List<TokenRevokedEvent>> since(long afterSequence){
+        if(afterSequence >= sequence){
+            return Optional.of(List.of());
+        }
+
+        TokenRevokedEvent oldest = history.peekFirst();
+        if(oldest == null || oldest.sequence() > afterSequence + 1){
+            return Optional.empty();
+        }
+
+        List<TokenRevokedEvent> events = new ArrayList<>((int) (sequence - afterSequence));
+        for(TokenRevokedEvent event : history){
+            if(event.sequence() > afterSequence){
+                events.add(event);
+            }
+        }
+        return Optional.of(events);
+    }
+
+    @Override
+    public Subscription subscribe(Consumer<TokenRevokedEvent> consumer){
+        consumers.add(consumer);
+        return () -> consumers.remove(consumer);
+    }
+
+    /** Drops expired revocations from the snapshot state. */
+    public synchronized void compact(){
+        Instant now = clock.instant();
+        live.values().removeIf(event -> !event.expiresAt().isAfter(now));
+    }
+}
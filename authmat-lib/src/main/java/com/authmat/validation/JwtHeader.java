@@ -0,0 +1,8 @@
+package com.authmat.validation;
+
+/**
+ * The protected header fields needed to route a compact JWS to its verification key.
+ * Any field absent from the header is {@code null}.
+ */
+public record JwtHeader(String algorithm, String keyId, String type) {
+}
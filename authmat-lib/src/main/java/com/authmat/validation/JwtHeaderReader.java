@@ -0,0 +1,153 @@
+package com.authmat.validation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads {@code alg}, {@code kid} and {@code typ} from a compact JWT without verifying it.
+ *
+ * <p>This is the per-request fast path used to pick a verification key. Segment
+ * boundaries are located by index rather than {@code String#split}, only the header
+ * segment is base64url-decoded, into a per-thread buffer, and the JSON is walked with a
+ * streaming parser so no intermediate {@code Map} or decoded {@code String} is built.
+ * The per-thread buffer never grows past {@value #MAX_RETAINED_BUFFER_SIZE} bytes; larger
+ * headers are decoded into a buffer that is dropped after the call.</p>
+ *
+ * <p>Nothing read here is trusted: the values only become meaningful once the
+ * signature has been verified with the key they select.</p>
+ */
+final class JwtHeaderReader {
+    private static final String MALFORMED_TOKEN = "The provided jwt is not properly formatted.";
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    static final int MAX_RETAINED_BUFFER_SIZE = 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ThreadLocal<byte[]> BUFFER =
+            ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        for(int i = 0; i < alphabet.length(); i++){
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+        // base64url only: '+' and '/' are rejected, as Base64.getUrlDecoder() does
+        BASE64_VALUES['-'] = 62;
+        BASE64_VALUES['_'] = 63;
+    }
+
+    private JwtHeaderReader(){}
+
+    static JwtHeader read(String token){
+        int headerEnd = headerEnd(token);
+
+        byte[] buffer = bufferFor((headerEnd * 3) / 4 + 1);
+        int length = decodeBase64Url(token, headerEnd, buffer);
+        try {
+            return parse(buffer, length);
+        } catch (IOException e){
+            throw new IllegalArgumentException(MALFORMED_TOKEN, e);
+        }
+    }
+
+    /** Size of the calling thread's retained decode buffer; exposed for tests. */
+    static int retainedBufferSize(){
+        return BUFFER.get().length;
+    }
+
+    /**
+     * Validates that the token has exactly three segments and returns the index of the
+     * first dot, i.e. the length of the header segment.
+     */
+    static int headerEnd(String token){
+        if(token == null || token.isEmpty()){
+            throw new IllegalArgumentException("The token provided is either null or empty.");
+        }
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if(firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0){
+            throw new IllegalArgumentException(MALFORMED_TOKEN);
+        }
+        return firstDot;
+    }
+
+    private static byte[] bufferFor(int maxDecodedLength){
+        if(maxDecodedLength > MAX_RETAINED_BUFFER_SIZE){
+            return new byte[maxDecodedLength];
+        }
+
+        byte[] buffer = BUFFER.get();
+        if(buffer.length < maxDecodedLength){
+            buffer = new byte[Math.min(MAX_RETAINED_BUFFER_SIZE, Math.max(maxDecodedLength, buffer.length * 2))];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static int decodeBase64Url(String token, int end, byte[] out){
+        int dataEnd = end;
+        while(dataEnd > 0 && token.charAt(dataEnd - 1) == '='){
+            dataEnd--;
+        }
+        // At most two padding characters, and padding only ever completes a 4-char group.
+        if(end - dataEnd > 2 || (dataEnd != end && end % 4 != 0) || dataEnd % 4 == 1){
+            throw new IllegalArgumentException(MALFORMED_TOKEN);
+        }
+
+        int accumulator = 0;
+        int bits = 0;
+        int length = 0;
+
+        for(int i = 0; i < dataEnd; i++){
+            char c = token.charAt(i);
+
+            int value = c < BASE64_VALUES.length ? BASE64_VALUES[c] : -1;
+            if(value < 0){
+                throw new IllegalArgumentException(MALFORMED_TOKEN);
+            }
+
+            accumulator = (accumulator << 6) | value;
+            bits += 6;
+            if(bits >= 8){
+                bits -= 8;
+                out[length++] = (byte) (accumulator >> bits);
+                accumulator &= (1 << bits) - 1;
+            }
+        }
+        return length;
+    }
+
+    private static JwtHeader parse(byte[] json, int length) throws IOException {
+        String algorithm = null;
+        String keyId = null;
+        String type = null;
+
+        try(JsonParser parser = JSON_FACTORY.createParser(json, 0, length)){
+            if(parser.nextToken() != JsonToken.START_OBJECT){
+                throw new IllegalArgumentException(MALFORMED_TOKEN);
+            }
+
+            while(parser.nextToken() == JsonToken.FIELD_NAME){
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if(value != JsonToken.VALUE_STRING){
+                    parser.skipChildren();
+                    continue;
+                }
+                switch(field){
+                    case "alg" -> algorithm = parser.getText();
+                    case "kid" -> keyId = parser.getText();
+                    case "typ" -> type = parser.getText();
+                    default -> { }
+                }
+            }
+        }
+        return new JwtHeader(algorithm, keyId, type);
+    }
+}
@@ -0,0 +1,99 @@
+package com.authmat.validation;
+
+import com.authmat.client.PublicKeyEvictionListener;
+import com.authmat.model.publickey.PublicKeyMetadata;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe cache of {@link JwtParser} instances keyed by verification key.
+ *
+ * <p>Parsers built by {@link Jwts#parserBuilder()} are immutable and thread-safe, so a
+ * single instance per signing key can be shared by every request thread instead of
+ * building a new one per token. The working set is the handful of keys currently held
+ * by {@link com.authmat.client.PublicKeyManager}; beyond the bound Caffeine evicts the
+ * least valuable entry, which at worst costs one rebuild.</p>
+ *
+ * <p>Register the cache with {@code PublicKeyManager#addEvictionListener} so parsers for
+ * rotated-out keys are released as soon as the key itself is.</p>
+ */
+@Slf4j
+public final class JwtParserCache implements PublicKeyEvictionListener {
+    public static final int DEFAULT_MAX_PARSERS = 16;
+
+    private final Function<Key, JwtParser> parserFactory;
+    private final Cache<Key, JwtParser> parsers;
+
+    public JwtParserCache(){
+        this(DEFAULT_MAX_PARSERS);
+    }
+
+    public JwtParserCache(int maxParsers){
+        this(maxParsers, JwtParserCache::newParser);
+    }
+
+    JwtParserCache(int maxParsers, Function<Key, JwtParser> parserFactory){
+        this(maxParsers, parserFactory, null);
+    }
+
+    /**
+     * @param maintenanceExecutor executor for Caffeine's eviction work; {@code null} for
+     *                            its default, tests pass {@code Runnable::run}
+     */
+    JwtParserCache(int maxParsers, Function<Key, JwtParser> parserFactory, Executor maintenanceExecutor){
+        if(maxParsers < 1){
+            throw new IllegalArgumentException("maxParsers must be at least 1");
+        }
+        this.parserFactory = parserFactory;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maxParsers);
+        if(maintenanceExecutor != null){
+            builder.executor(maintenanceExecutor);
+        }
+        this.parsers = builder.build();
+    }
+
+    public JwtParser parserFor(Key key){
+        return parsers.get(key, parserFactory);
+    }
+
+    public void evict(Key key){
+        parsers.invalidate(key);
+    }
+
+    public int size(){
+        parsers.cleanUp();
+        return (int) parsers.estimatedSize();
+    }
+
+    @Override
+    public void onKeyEvicted(String kid, PublicKeyMetadata metadata){
+        if(metadata.getPublicKey() != null && parsers.asMap().remove(metadata.getPublicKey()) != null){
+            log.debug("Released cached JwtParser for evicted key. kid={}", kid);
+            return;
+        }
+
+        byte[] encodedKey = Base64.getDecoder().decode(metadata.getEncodedPublicKey());
+        boolean removed = parsers.asMap().keySet()
+                .removeIf(key -> Arrays.equals(key.getEncoded(), encodedKey));
+
+        if(removed){
+            log.debug("Released cached JwtParser for evicted key. kid={}", kid);
+        }
+    }
+
+    private static JwtParser newParser(Key key){
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+}
@@ -0,0 +1,418 @@
+package com.authmat.validation;
+
+import com.authmat.validation.contracts.RevocableTokenBlacklist;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link RevocableTokenBlacklist} that keeps its entries off the Java heap, for
+ * revocation lists of millions of tokens that would otherwise inflate GC pause times.
+ *
+ * <p>Entries live in an open-addressing (linear probing) table inside a
+ * {@link MemorySegment}. Each slot is 40 bytes: the four words of the
+ * {@link TokenDigest} followed by the token's expiry in epoch millis, where an expiry
+ * of {@code 0} marks an empty slot. The table is sized to the next power of two of
+ * {@code 2 * maxEntries}, so its footprint is bounded by
+ * {@code 64 + nextPowerOfTwo(2 * maxEntries) * 40} bytes (see {@link #memoryBytes()});
+ * roughly 80 to 160 bytes per permitted entry.</p>
+ *
+ * <p>Reads are lock-free. A writer fills the digest words first and publishes the
+ * expiry last with release semantics, and readers load the expiry with acquire
+ * semantics, so a reader never sees a half-written slot. Writes are serialised by a
+ * lock. Slots are never cleared in place; {@link #compact()} copies the live entries
+ * into a fresh table and swaps it in, leaving readers of the old table unaffected.</p>
+ *
+ * <p>Each table generation owns a shared {@link Arena}. A reader registers with the
+ * generation it probes, and a swapped-out generation closes its arena as soon as its
+ * last reader leaves, so an old table only outlives the swap for as long as a lookup
+ * already in flight needs it. {@link #close()} releases the live table the same way;
+ * the blacklist cannot be used afterwards.</p>
+ *
+ * <p>When constructed with a file, the table is memory-mapped from it, so a restarted
+ * process picks the list up again immediately instead of re-fetching it.</p>
+ */
+@Slf4j
+public class OffHeapTokenBlacklist implements RevocableTokenBlacklist, AutoCloseable {
+    static final long MAGIC = 0x415554484d41544cL;
+    static final int HEADER_BYTES = 64;
+    static final int SLOT_BYTES = 40;
+
+    private static final long CAPACITY_OFFSET = 8;
+    private static final long EXPIRY_OFFSET = 32;
+    private static final int MAX_ENTRIES = 1 << 29;
+    private static final VarHandle LONG = ValueLayout.JAVA_LONG.varHandle();
+
+    private final int maxEntries;
+    private final int capacity;
+    private final Path file;
+    private final Clock clock;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicInteger openGenerations = new AtomicInteger();
+    private volatile Generation table;
+    private int occupied;
+
+    public OffHeapTokenBlacklist(int maxEntries){
+        this(maxEntries, null, Clock.systemUTC());
+    }
+
+    /**
+     * @param file optional backing file; created if absent, reused if it holds a table
+     *             of the same capacity
+     */
+    public OffHeapTokenBlacklist(int maxEntries, Path file, Clock clock){
+        if(maxEntries < 1 || maxEntries > MAX_ENTRIES){
+            throw new IllegalArgumentException("maxEntries must be between 1 and " + MAX_ENTRIES);
+        }
+        this.maxEntries = maxEntries;
+        this.capacity = Integer.highestOneBit(maxEntries * 2 - 1) << 1;
+        this.file = file;
+        this.clock = clock;
+
+        try {
+            this.table = open(file);
+        } catch (IOException e){
+            throw new UncheckedIOException("Failed to open off-heap token blacklist at " + file, e);
+        }
+    }
+
+    @Override
+    public void revoke(TokenDigest digest, Instant expiresAt){
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if(expiresAtMillis <= clock.millis()){
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            if(insert(current().segment, digest, expiresAtMillis)){
+                return;
+            }
+            compactLocked();
+            if(!insert(current().segment, digest, expiresAtMillis)){
+                log.error("Off-heap token blacklist is full. maxEntries={}", maxEntries);
+                throw new IllegalStateException("Off-heap token blacklist is full. maxEntries=" + maxEntries);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isBlacklisted(TokenDigest digest){
+        Generation generation = acquire();
+        try {
+            MemorySegment segment = generation.segment;
+            int mask = capacity - 1;
+            int slot = (int) digest.w0() & mask;
+
+            for(int probes = 0; probes < capacity; probes++){
+                long base = slotOffset(slot);
+                long expiresAtMillis = (long) LONG.getAcquire(segment, base + EXPIRY_OFFSET);
+                if(expiresAtMillis == 0){
+                    return false;
+                }
+                if(matches(segment, base, digest)){
+                    return expiresAtMillis > clock.millis();
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        } finally {
+            generation.release();
+        }
+    }
+
+    /**
+     * Rebuilds the table with only the entries that have not yet expired.
+     *
+     * @return number of live entries retained
+     */
+    public int compact(){
+        writeLock.lock();
+        try {
+            return compactLocked();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public ScheduledFuture<?> scheduleCompaction(ScheduledExecutorService scheduler, Duration interval){
+        long periodMillis = interval.toMillis();
+        return scheduler.scheduleAtFixedRate(this::compact, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return occupied slots, including expired entries not yet compacted away
+     */
+    public int size(){
+        writeLock.lock();
+        try {
+            return occupied;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public long memoryBytes(){
+        return HEADER_BYTES + (long) capacity * SLOT_BYTES;
+    }
+
+    /** Forces a file-backed table to disk; no-op for an anonymous one. */
+    public void flush(){
+        writeLock.lock();
+        try {
+            Generation generation = table;
+            if(file != null && generation != null){
+                generation.segment.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes a file-backed table and releases the table's memory once in-flight
+     * lookups have finished.
+     */
+    @Override
+    public void close(){
+        writeLock.lock();
+        try {
+            Generation generation = table;
+            if(generation == null){
+                return;
+            }
+            flush();
+            table = null;
+            generation.retire();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** @return table generations whose memory has not been released yet; exposed for tests */
+    int openGenerations(){
+        return openGenerations.get();
+    }
+
+    /** Registers the caller as a reader of the current generation. */
+    Generation acquire(){
+        while(true){
+            Generation generation = table;
+            if(generation == null){
+                throw new IllegalStateException("Off-heap token blacklist is closed.");
+            }
+            generation.readers.incrementAndGet();
+            // The generation may have been swapped out before we registered
+            if(generation == table){
+                return generation;
+            }
+            generation.release();
+        }
+    }
+
+    /** Must be called while holding {@link #writeLock}. */
+    private Generation current(){
+        Generation generation = table;
+        if(generation == null){
+            throw new IllegalStateException("Off-heap token blacklist is closed.");
+        }
+        return generation;
+    }
+
+    /** Must be called while holding {@link #writeLock}. */
+    private int compactLocked(){
+        long now = clock.millis();
+        Generation current = current();
+        MemorySegment source = current.segment;
+        Path target = file == null ? null : file.resolveSibling(file.getFileName() + ".compact");
+        int occupiedBefore = occupied;
+        Generation compacted = null;
+
+        try {
+            if(target != null){
+                Files.deleteIfExists(target);
+            }
+            compacted = allocate(target);
+            initializeHeader(compacted.segment);
+
+            occupied = 0;
+            for(int slot = 0; slot < capacity; slot++){
+                long base = slotOffset(slot);
+                long expiresAtMillis = source.get(ValueLayout.JAVA_LONG, base + EXPIRY_OFFSET);
+                if(expiresAtMillis > now){
+                    insert(compacted.segment, readDigest(source, base), expiresAtMillis);
+                }
+            }
+
+            if(target != null){
+                compacted.segment.force();
+                Files.move(target, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            table = compacted;
+            current.retire();
+            log.debug("Compacted off-heap token blacklist. live={}", occupied);
+            return occupied;
+        } catch (IOException e){
+            throw new UncheckedIOException("Failed to compact off-heap token blacklist", e);
+        } finally {
+            if(compacted != null && table != compacted){
+                occupied = occupiedBefore;
+                compacted.retire();
+            }
+        }
+    }
+
+    /** Must be called while holding {@link #writeLock}. */
+    private boolean insert(MemorySegment segment, TokenDigest digest, long expiresAtMillis){
+        int mask = capacity - 1;
+        int slot = (int) digest.w0() & mask;
+
+        for(int probes = 0; probes < capacity; probes++){
+            long base = slotOffset(slot);
+            long current = segment.get(ValueLayout.JAVA_LONG, base + EXPIRY_OFFSET);
+
+            if(current == 0){
+                if(occupied >= maxEntries){
+                    return false;
+                }
+                segment.set(ValueLayout.JAVA_LONG, base, digest.w0());
+                segment.set(ValueLayout.JAVA_LONG, base + 8, digest.w1());
+                segment.set(ValueLayout.JAVA_LONG, base + 16, digest.w2());
+                segment.set(ValueLayout.JAVA_LONG, base + 24, digest.w3());
+                LONG.setRelease(segment, base + EXPIRY_OFFSET, expiresAtMillis);
+                occupied++;
+                return true;
+            }
+            if(matches(segment, base, digest)){
+                if(expiresAtMillis > current){
+                    LONG.setRelease(segment, base + EXPIRY_OFFSET, expiresAtMillis);
+                }
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private Generation open(Path path) throws IOException {
+        Generation generation = allocate(path);
+        MemorySegment segment = generation.segment;
+
+        boolean reusable = segment.get(ValueLayout.JAVA_LONG, 0) == MAGIC &&
+                segment.get(ValueLayout.JAVA_LONG, CAPACITY_OFFSET) == capacity;
+        if(!reusable){
+            segment.fill((byte) 0);
+            initializeHeader(segment);
+            return generation;
+        }
+
+        for(int slot = 0; slot < capacity; slot++){
+            if(segment.get(ValueLayout.JAVA_LONG, slotOffset(slot) + EXPIRY_OFFSET) != 0){
+                occupied++;
+            }
+        }
+        log.info("Loaded off-heap token blacklist from {}. entries={}", path, occupied);
+        return generation;
+    }
+
+    private Generation allocate(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try {
+            if(path == null){
+                return new Generation(arena, arena.allocate(memoryBytes(), Long.BYTES));
+            }
+
+            try(FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+                return new Generation(arena, channel.map(FileChannel.MapMode.READ_WRITE, 0, memoryBytes(), arena));
+            }
+        } catch (IOException | RuntimeException e){
+            arena.close();
+            throw e;
+        }
+    }
+
+    private void initializeHeader(MemorySegment segment){
+        segment.set(ValueLayout.JAVA_LONG, 0, MAGIC);
+        segment.set(ValueLayout.JAVA_LONG, CAPACITY_OFFSET, capacity);
+    }
+
+    private static long slotOffset(int slot){
+        return HEADER_BYTES + (long) slot * SLOT_BYTES;
+    }
+
+    private static boolean matches(MemorySegment segment, long base, TokenDigest digest){
+        return segment.get(ValueLayout.JAVA_LONG, base) == digest.w0() &&
+                segment.get(ValueLayout.JAVA_LONG, base + 8) == digest.w1() &&
+                segment.get(ValueLayout.JAVA_LONG, base + 16) == digest.w2() &&
+                segment.get(ValueLayout.JAVA_LONG, base + 24) == digest.w3();
+    }
+
+    /**
+     * One table and the arena that owns its memory. The arena is closed once the
+     * generation has been retired by the writer and no reader is still probing it.
+     */
+    final class Generation {
+        final MemorySegment segment;
+        private final Arena arena;
+        private final AtomicInteger readers = new AtomicInteger();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean retired;
+
+        private Generation(Arena arena, MemorySegment segment){
+            this.arena = arena;
+            this.segment = segment;
+            openGenerations.incrementAndGet();
+        }
+
+        void release(){
+            if(readers.decrementAndGet() == 0 && retired){
+                closeArena();
+            }
+        }
+
+        /** Called by the writer once this generation is no longer published. */
+        private void retire(){
+            retired = true;
+            if(readers.get() == 0){
+                closeArena();
+            }
+        }
+
+        private void closeArena(){
+            if(released.compareAndSet(false, true)){
+                arena.close();
+                openGenerations.decrementAndGet();
+            }
+        }
+    }
+
+    private static TokenDigest readDigest(MemorySegment segment, long base){
+        return new TokenDigest(
+                segment.get(ValueLayout.JAVA_LONG, base),
+                segment.get(ValueLayout.JAVA_LONG, base + 8),
+                segment.get(ValueLayout.JAVA_LONG, base + 16),
+                segment.get(ValueLayout.JAVA_LONG, base + 24));
+    }
+}
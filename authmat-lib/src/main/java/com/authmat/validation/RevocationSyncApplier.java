@@ -0,0 +1,126 @@
+package com.authmat.validation;
+
+import com.authmat.events.RevocationSnapshot;
+import com.authmat.events.TokenRevokedEvent;
+import com.authmat.validation.contracts.RevocableTokenBlacklist;
+import com.authmat.validation.contracts.RevocationFeed;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a local {@link RevocableTokenBlacklist} in step with a {@link RevocationFeed}.
+ *
+ * <p>On the first {@link #sync()} the applier loads the feed's compacted snapshot;
+ * after that it only applies the events since the last sequence it has seen. Pushed
+ * events are applied directly when they are the next in sequence; duplicates are
+ * ignored, and a gap triggers a {@link #sync()} so nothing published in between is
+ * lost. If the feed can no longer serve the missing events, the applier falls back to
+ * a fresh snapshot.</p>
+ *
+ * <p>Revocations are only ever added, so re-applying a snapshot on top of existing
+ * entries is harmless.</p>
+ */
+@Slf4j
+public class RevocationSyncApplier implements AutoCloseable {
+    private final RevocableTokenBlacklist blacklist;
+    private final RevocationFeed feed;
+    private volatile long lastSequence;
+    private volatile RevocationFeed.Subscription subscription;
+
+    public RevocationSyncApplier(RevocableTokenBlacklist blacklist, RevocationFeed feed){
+        this.blacklist = blacklist;
+        this.feed = feed;
+    }
+
+    /**
+     * Catches up with the feed and subscribes to its pushed events.
+     */
+    public synchronized RevocationSyncApplier start(){
+        sync();
+        if(subscription == null){
+            subscription = feed.subscribe(this::onEvent);
+        }
+        return this;
+    }
+
+    /**
+     * Pulls whatever this node has not yet applied.
+     */
+    public synchronized void sync(){
+        if(lastSequence == 0){
+            applySnapshot();
+            return;
+        }
+
+        Optional<List<TokenRevokedEvent>> delta = feed.since(lastSequence);
+        if(delta.isEmpty()){
+            log.warn("Revocation feed no longer holds events after sequence={}; reloading snapshot.", lastSequence);
+            applySnapshot();
+            return;
+        }
+
+        for(TokenRevokedEvent event : delta.get()){
+            if(event.sequence() != lastSequence + 1){
+                log.warn("Revocation feed returned a gap. expected={} actual={}", lastSequence + 1, event.sequence());
+                applySnapshot();
+                return;
+            }
+            apply(event);
+        }
+    }
+
+    public synchronized void onEvent(TokenRevokedEvent event){
+        if(event.sequence() <= lastSequence){
+            return;
+        }
+        if(event.sequence() == lastSequence + 1){
+            apply(event);
+            return;
+        }
+        sync();
+    }
+
+    public ScheduledFuture<?> scheduleSync(ScheduledExecutorService scheduler, Duration interval){
+        long periodMillis = interval.toMillis();
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (RuntimeException e){
+                log.error("Revocation sync failed. lastSequence={}", lastSequence, e);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public long lastSequence(){
+        return lastSequence;
+    }
+
+    @Override
+    public synchronized void close(){
+        if(subscription != null){
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    private void applySnapshot(){
+        RevocationSnapshot snapshot = feed.snapshot();
+        for(TokenRevokedEvent event : snapshot.revocations()){
+            blacklist.revoke(TokenDigest.fromHex(event.tokenDigest()), event.expiresAt());
+        }
+        lastSequence = snapshot.sequence();
+        log.info("Applied revocation snapshot. sequence={} entries={}",
+                snapshot.sequence(), snapshot.revocations().size());
+    }
+
+    private void apply(TokenRevokedEvent event){
+        blacklist.revoke(TokenDigest.fromHex(event.tokenDigest()), event.expiresAt());
+        lastSequence = event.sequence();
+    }
+}
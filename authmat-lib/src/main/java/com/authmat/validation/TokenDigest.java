@@ -0,0 +1,54 @@
+package com.authmat.validation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 digest of a compact JWT, held as four longs so it can be used as a cheap,
+ * allocation-light map key without retaining the token itself.
+ *
+ * <p>A cryptographic hash is deliberately used: a digest that an attacker could
+ * collide would let a forged token share a cache or blacklist entry with a real one.</p>
+ */
+public record TokenDigest(long w0, long w1, long w2, long w3) {
+    public static final int BYTES = 32;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    public static TokenDigest of(String token){
+        if(token == null || token.isEmpty()){
+            throw new IllegalArgumentException("The token provided is either null or empty.");
+        }
+
+        MessageDigest sha256 = SHA_256.get();
+        ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * Parses the 64-character hex form produced by {@link #toHex()}, as carried by
+     * {@link com.authmat.events.TokenRevokedEvent}.
+     */
+    public static TokenDigest fromHex(String hex){
+        if(hex == null || hex.length() != BYTES * 2){
+            throw new IllegalArgumentException("A token digest must be " + BYTES * 2 + " hex characters.");
+        }
+
+        ByteBuffer hash = ByteBuffer.wrap(HexFormat.of().parseHex(hex));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    public String toHex(){
+        HexFormat hex = HexFormat.of();
+        return hex.toHexDigits(w0) + hex.toHexDigits(w1) + hex.toHexDigits(w2) + hex.toHexDigits(w3);
+    }
+}
@@ -1,12 +1,15 @@
 package com.authmat.validation;
 
+import com.authmat.exception.FailedAuthenticationException;
+import com.authmat.security.AuthorityRequirement;
+import com.authmat.validation.contracts.RevocableTokenBlacklist;
+import com.authmat.validation.contracts.TokenBlacklist;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
@@ -21,11 +24,66 @@ import java.util.*;
 import java.util.function.Function;
 
 @Slf4j
-@RequiredArgsConstructor
 public final class TokenResolver {
+    private static final ObjectMapper HEADER_MAPPER = new ObjectMapper();
+
+    private final JwtParserCache parserCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenBlacklist tokenBlacklist;
+
+    public TokenResolver(){
+        this(new JwtParserCache());
+    }
+
+    public TokenResolver(JwtParserCache parserCache){
+        this(parserCache, null, null);
+    }
+
+    /**
+     * @param verifiedTokenCache optional; when {@code null} every call verifies the signature
+     * @param tokenBlacklist     optional; when present it is consulted on every call,
+     *                           including verified-token cache hits
+     */
+    public TokenResolver(
+            JwtParserCache parserCache,
+            VerifiedTokenCache verifiedTokenCache,
+            TokenBlacklist tokenBlacklist
+    ){
+        this.parserCache = Objects.requireNonNull(parserCache, "parserCache must not be null");
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenBlacklist = tokenBlacklist;
+    }
+
+    /**
+     * Parses and verifies the token exactly once and returns an immutable view of the
+     * claims callers typically need. Prefer this over chaining several {@code extract*}
+     * calls, each of which would otherwise pay for its own signature check.
+     */
+    public ValidatedToken validate(String token, Key publicKey){
+        // Computed at most once per call and shared by the cache and the blacklist.
+        TokenDigest digest = verifiedTokenCache != null || tokenBlacklist instanceof RevocableTokenBlacklist ?
+                TokenDigest.of(token) : null;
+
+        ValidatedToken validatedToken = verifiedTokenCache == null ?
+                ValidatedToken.from(parse(token, publicKey)) :
+                verifiedTokenCache.resolve(digest, publicKey, () -> ValidatedToken.from(parse(token, publicKey)));
+
+        if(isRevoked(token, digest)){
+            throw new FailedAuthenticationException("The token provided has been revoked.");
+        }
+        return validatedToken;
+    }
+
+    private boolean isRevoked(String token, TokenDigest digest){
+        if(tokenBlacklist instanceof RevocableTokenBlacklist revocableBlacklist){
+            return revocableBlacklist.isBlacklisted(digest);
+        }
+        return tokenBlacklist != null && tokenBlacklist.isBlacklisted(token);
+    }
+
     public <T> Optional<T> resolveClaim(String token, Key publicKey, Function<Claims, T> claimsResolver){
 
-        final Claims claims = extractAllClaims(token, publicKey);
+        final Claims claims = parse(token, publicKey).getBody();
         T claim = claimsResolver.apply(claims);
 
         boolean isNull = (claim == null);
@@ -39,11 +97,7 @@ public final class TokenResolver {
     }
 
     public JwsHeader<?> resolveHeader(String token, Key key){
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getHeader();
+        return parse(token, key).getHeader();
     }
 
     public JwsHeader<?> resolveHeader(String token, String key){
@@ -60,35 +114,42 @@ public final class TokenResolver {
         }
 
         try {
-            final int jwtPartsLength = 3;
-            String[] parts = token.split("\\.");
-            if(parts.length != jwtPartsLength){
-                throw new IllegalArgumentException("The provided jwt is not properly formatted.");
-            }
-
-            String headerJson = new String(Decoders.BASE64.decode(parts[0]));
-            return new ObjectMapper().readValue(headerJson, Map.class);
+            int headerEnd = JwtHeaderReader.headerEnd(token);
+            byte[] headerJson = Base64.getUrlDecoder().decode(token.substring(0, headerEnd));
+            return HEADER_MAPPER.readValue(headerJson, Map.class);
         }catch (Exception e){
             log.error("Error extracting header.");
             throw new IllegalArgumentException("Error extracting header.");
         }
     }
 
+    /**
+     * Allocation-light alternative to {@link #extractHeader(String)} for the per-request
+     * lookup of {@code kid}/{@code alg}/{@code typ}. The token is not verified.
+     */
+    public JwtHeader readHeader(String token){
+        return JwtHeaderReader.read(token);
+    }
+
     public boolean isTokenValid(String token, Key publicKey){
-        return !extractSubject(token, publicKey).isBlank() &&
-                !extractAudience(token, publicKey).isBlank() &&
-                !extractIssuer(token,publicKey).isBlank() &&
-                //!extractAuthorities(token, publicKey).isEmpty() &&
-                !isTokenExpired(token, publicKey);
+        ValidatedToken validatedToken = validate(token, publicKey);
+
+        return !validatedToken.subject().isBlank() &&
+                !validatedToken.audience().isBlank() &&
+                !validatedToken.issuer().isBlank() &&
+                //!validatedToken.authorities().isEmpty() &&
+                !validatedToken.isExpired(Instant.now());
     }
 
     public boolean isTokenValid(
             String token, Key publicKey, String requiredSubject, String requiredAudience
     ){
-        return requiredSubject.equals(extractSubject(token, publicKey)) &&
-                requiredAudience.equals(extractAudience(token, publicKey)) &&
-                !extractAuthorities(token, publicKey).isEmpty() &&
-                !isTokenExpired(token, publicKey);
+        ValidatedToken validatedToken = validate(token, publicKey);
+
+        return requiredSubject.equals(validatedToken.subject()) &&
+                requiredAudience.equals(validatedToken.audience()) &&
+                !validatedToken.authorities().isEmpty() &&
+                !validatedToken.isExpired(Instant.now());
     }
 
     public boolean isTokenValid(
@@ -98,16 +159,37 @@ public final class TokenResolver {
             String requiredAudience,
             Set<String> requiredAuthorities){
 
+        ValidatedToken validatedToken = validate(token, publicKey);
+
         boolean isAuthorized = requiredAuthorities
                 .stream()
-                .anyMatch(extractAuthorities(token, publicKey)::contains);
+                .anyMatch(validatedToken.authorities()::contains);
 
-        return requiredSubject.equals(extractSubject(token, publicKey)) &&
-                requiredAudience.equals(extractAudience(token, publicKey)) &&
-                !isTokenExpired(token, publicKey) &&
+        return requiredSubject.equals(validatedToken.subject()) &&
+                requiredAudience.equals(validatedToken.audience()) &&
+                !validatedToken.isExpired(Instant.now()) &&
                 isAuthorized;
     }
 
+    /**
+     * Same as the {@code Set<String>} overload, but checks a precompiled requirement
+     * against the token's interned authority bitset instead of hashing role strings.
+     */
+    public boolean isTokenValid(
+            String token,
+            Key publicKey,
+            String requiredSubject,
+            String requiredAudience,
+            AuthorityRequirement requiredAuthorities){
+
+        ValidatedToken validatedToken = validate(token, publicKey);
+
+        return requiredSubject.equals(validatedToken.subject()) &&
+                requiredAudience.equals(validatedToken.audience()) &&
+                !validatedToken.isExpired(Instant.now()) &&
+                requiredAuthorities.isSatisfiedBy(validatedToken.grantedAuthorities());
+    }
+
     public Optional<String> extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(SecurityConstants.TOKEN_HEADER.getValue());
 
@@ -124,41 +206,28 @@ public final class TokenResolver {
     }
 
     public String extractSubject(String token, Key publicKey){
-        return resolveClaim(token, publicKey, Claims::getSubject)
-                .orElse("");
+        return validate(token, publicKey).subject();
     }
 
     public String extractAudience(String token, Key publicKey){
-        return resolveClaim(token, publicKey, Claims::getAudience)
-                .orElse("");
+        return validate(token, publicKey).audience();
     }
 
     public String extractIssuer(String token, Key publicKey){
-        return resolveClaim(token, publicKey, Claims::getIssuer)
-                .orElse("");
+        return validate(token, publicKey).issuer();
     }
 
     public Set<String> extractAuthorities(String token, Key publicKey){
-        List<String> authorities = resolveClaim(
-                token,
-                publicKey,
-                claims -> claims.get("authorities", List.class))
-                .stream()
-                .map(String.class::cast)
-                .toList();
-
-        return new HashSet<>(authorities);
+        return validate(token, publicKey).authorities();
     }
 
     public Instant extractExpiration(String token, Key publicKey){
-        return resolveClaim(token, publicKey, Claims::getExpiration)
-                .map(Date::toInstant)
-                .orElse(Instant.now());
+        return Optional.ofNullable(validate(token, publicKey).expiration())
+                .orElseGet(Instant::now);
     }
 
     public boolean isTokenExpired(String token, Key publicKey){
-        return extractExpiration(token, publicKey)
-                .isBefore(Instant.now());
+        return validate(token, publicKey).isExpired(Instant.now());
     }
 
     public PublicKey loadPublicKey(String publicKey, String algorithm)
@@ -172,12 +241,9 @@ public final class TokenResolver {
                 .generatePublic(encodedKeySpec);
     }
 
-    private static Claims extractAllClaims(String token, Key publicKey){
-        return Jwts.parserBuilder()
-                .setSigningKey(publicKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private Jws<Claims> parse(String token, Key publicKey){
+        return parserCache.parserFor(publicKey)
+                .parseClaimsJws(token);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.authmat.validation;
+
+import com.authmat.security.CompactAuthoritySet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of a JWS whose signature has already been verified.
+ *
+ * <p>Produced by {@link TokenResolver#validate(String, java.security.Key)} so a token is
+ * parsed and verified exactly once, no matter how many claims the caller inspects.
+ * Missing string claims are normalised to {@code ""} and missing authorities to an
+ * empty set, mirroring the defaults of the {@code extract*} methods.</p>
+ *
+ * <p>{@code grantedAuthorities} holds the same authorities as an interned bitset, ready
+ * for {@link com.authmat.security.AuthorityRequirement} checks without per-request
+ * string hashing.</p>
+ */
+public record ValidatedToken(
+        String keyId,
+        String subject,
+        String audience,
+        String issuer,
+        Instant issuedAt,
+        Instant expiration,
+        Set<String> authorities,
+        CompactAuthoritySet grantedAuthorities
+) {
+    static final String AUTHORITIES_CLAIM = "authorities";
+
+    public ValidatedToken {
+        subject     = subject  == null ? "" : subject;
+        audience    = audience == null ? "" : audience;
+        issuer      = issuer   == null ? "" : issuer;
+        authorities = authorities == null ? Set.of() : Set.copyOf(authorities);
+        grantedAuthorities = grantedAuthorities == null ?
+                CompactAuthoritySet.ofNames(authorities) : grantedAuthorities;
+    }
+
+    public ValidatedToken(
+            String keyId,
+            String subject,
+            String audience,
+            String issuer,
+            Instant issuedAt,
+            Instant expiration,
+            Set<String> authorities
+    ) {
+        this(keyId, subject, audience, issuer, issuedAt, expiration, authorities, null);
+    }
+
+    static ValidatedToken from(Jws<Claims> jws){
+        Claims claims = jws.getBody();
+
+        return new ValidatedToken(
+                jws.getHeader().getKeyId(),
+                claims.getSubject(),
+                claims.getAudience(),
+                claims.getIssuer(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                readAuthorities(claims)
+        );
+    }
+
+    /**
+     * A token without an {@code exp} claim is treated as expired, so a missing claim
+     * can never extend a token's lifetime.
+     */
+    public boolean isExpired(Instant now){
+        return expiration == null || expiration.isBefore(now);
+    }
+
+    private static Instant toInstant(Date date){
+        return date == null ? null : date.toInstant();
+    }
+
+    private static Set<String> readAuthorities(Claims claims){
+        Object raw = claims.get(AUTHORITIES_CLAIM);
+        if(!(raw instanceof Collection<?> values) || values.isEmpty()){
+            return Set.of();
+        }
+        return values.stream()
+                .map(String.class::cast)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,134 @@
+package com.authmat.validation;
+
+import com.authmat.client.PublicKeyEvictionListener;
+import com.authmat.model.publickey.PublicKeyMetadata;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in cache of signature verification results for {@link TokenResolver}.
+ *
+ * <p>Clients typically present the same bearer token for many requests until it
+ * expires. Entries are keyed by a {@link TokenDigest} of the compact token and:</p>
+ * <ul>
+ *   <li>expire no later than the token's {@code exp} claim (and never later than {@code maxTtl}),</li>
+ *   <li>are bounded by {@code maximumSize} using Caffeine's W-TinyLFU eviction,</li>
+ *   <li>are only served for the exact key that originally verified them,</li>
+ *   <li>are dropped for a kid as soon as {@code PublicKeyManager} evicts that key.</li>
+ * </ul>
+ *
+ * <p>The cache never answers revocation questions: {@link TokenResolver} still consults
+ * its {@code TokenBlacklist} on every call, cache hit or not.</p>
+ */
+@Slf4j
+public final class VerifiedTokenCache implements PublicKeyEvictionListener {
+    private final Cache<TokenDigest, Entry> cache;
+    private final Clock clock;
+
+    public VerifiedTokenCache(long maximumSize, Duration maxTtl){
+        this(maximumSize, maxTtl, Clock.systemUTC());
+    }
+
+    public VerifiedTokenCache(long maximumSize, Duration maxTtl, Clock clock){
+        if(maxTtl == null || maxTtl.isNegative() || maxTtl.isZero()){
+            throw new IllegalArgumentException("maxTtl must be positive");
+        }
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maxTtl, clock))
+                .ticker(() -> toNanos(clock.instant()))
+                .build();
+    }
+
+    /**
+     * Returns the cached result for this token and key, or runs {@code verifier} and
+     * caches its result when the token is still within its lifetime.
+     */
+    public ValidatedToken resolve(String token, Key key, Supplier<ValidatedToken> verifier){
+        return resolve(TokenDigest.of(token), key, verifier);
+    }
+
+    /**
+     * Same as {@link #resolve(String, Key, Supplier)} for a caller that already holds the
+     * token's digest, e.g. to reuse it for a blacklist lookup.
+     */
+    public ValidatedToken resolve(TokenDigest digest, Key key, Supplier<ValidatedToken> verifier){
+        Instant now = clock.instant();
+
+        Entry entry = cache.getIfPresent(digest);
+        if(entry != null && entry.key().equals(key) && !entry.token().isExpired(now)){
+            return entry.token();
+        }
+
+        ValidatedToken verified = verifier.get();
+        if(!verified.isExpired(now)){
+            cache.put(digest, new Entry(verified, key));
+        }
+        return verified;
+    }
+
+    public void invalidateKeyId(String kid){
+        if(kid == null){
+            return;
+        }
+        cache.asMap()
+                .values()
+                .removeIf(entry -> kid.equals(entry.token().keyId()));
+    }
+
+    public void invalidateAll(){
+        cache.invalidateAll();
+    }
+
+    public long estimatedSize(){
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void onKeyEvicted(String kid, PublicKeyMetadata metadata){
+        invalidateKeyId(kid);
+        log.debug("Invalidated verified tokens for evicted key. kid={}", kid);
+    }
+
+    /** Caffeine's ticker runs off the same clock as the expiry computation. */
+    private static long toNanos(Instant instant){
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private record Entry(ValidatedToken token, Key key) {}
+
+    private record TokenExpiry(Duration maxTtl, Clock clock) implements Expiry<TokenDigest, Entry> {
+        @Override
+        public long expireAfterCreate(TokenDigest digest, Entry entry, long currentTime){
+            Instant expiration = entry.token().expiration();
+            if(expiration == null){
+                return 0L;
+            }
+
+            Duration remaining = Duration.between(clock.instant(), expiration);
+            if(remaining.isNegative()){
+                return 0L;
+            }
+            return (remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest digest, Entry entry, long currentTime, long currentDuration){
+            return expireAfterCreate(digest, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest digest, Entry entry, long currentTime, long currentDuration){
+            return currentDuration;
+        }
+    }
+}
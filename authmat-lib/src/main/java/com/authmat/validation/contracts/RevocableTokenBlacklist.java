@@ -0,0 +1,30 @@
+package com.authmat.validation.contracts;
+
+import com.authmat.validation.TokenDigest;
+
+import java.time.Instant;
+
+/**
+ * A {@link TokenBlacklist} that can be fed revocations locally. Entries are keyed by
+ * {@link TokenDigest}, so neither the store nor the revocation feed has to hold raw
+ * tokens, and each entry only needs to be kept until the token would have expired
+ * anyway.
+ */
+public interface RevocableTokenBlacklist extends TokenBlacklist {
+
+    /**
+     * @param expiresAt the revoked token's own {@code exp}; the entry is dropped after it
+     */
+    void revoke(TokenDigest digest, Instant expiresAt);
+
+    boolean isBlacklisted(TokenDigest digest);
+
+    default void revoke(String token, Instant expiresAt){
+        revoke(TokenDigest.of(token), expiresAt);
+    }
+
+    @Override
+    default boolean isBlacklisted(String token){
+        return isBlacklisted(TokenDigest.of(token));
+    }
+}
@@ -0,0 +1,44 @@
+package com.authmat.validation.contracts;
+
+import com.authmat.events.RevocationSnapshot;
+import com.authmat.events.TokenRevokedEvent;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Source of the sequence-numbered {@link TokenRevokedEvent} stream that keeps every
+ * node's {@link RevocableTokenBlacklist} in step, without each node pulling the
+ * full list.
+ *
+ * <p>A node takes a {@link #snapshot()} once, then only asks for events
+ * {@link #since(long) since} the last sequence it applied, or receives them as they are
+ * published through {@link #subscribe(Consumer)}.</p>
+ */
+public interface RevocationFeed {
+
+    RevocationSnapshot snapshot();
+
+    /**
+     * @return the events with a sequence greater than {@code afterSequence}, in order,
+     *         or empty if some of them have already been compacted away and the caller
+     *         must start over from a {@link #snapshot()}
+     */
+    Optional<List<TokenRevokedEvent>> since(long afterSequence);
+
+    /**
+     * Registers a consumer for every event published from now on. Events may be
+     * delivered out of order or not at all; consumers are expected to fall back to
+     * {@link #since(long)} when they notice a gap.
+     *
+     * @return handle that stops delivery to this consumer when closed
+     */
+    Subscription subscribe(Consumer<TokenRevokedEvent> consumer);
+
+    @FunctionalInterface
+    interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
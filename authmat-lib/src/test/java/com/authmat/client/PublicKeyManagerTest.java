@@ -0,0 +1,181 @@
+package com.authmat.client;
+
+import com.authmat.events.PublicKeyRevocationEvent;
+import com.authmat.events.PublicKeyRotationEvent;
+import com.authmat.exception.InvalidPublicKeyException;
+import com.authmat.model.publickey.PublicKeyMetadata;
+import com.authmat.support.MutableClock;
+import com.authmat.support.TestKeys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicKeyManagerTest {
+    private static final String ENCODED_KEY = TestKeys.encodedRsaPublicKey();
+
+    @Test
+    void findKeyByKidReturnsEmptyOnMiss(){
+        PublicKeyManager manager = new PublicKeyManager(2);
+
+        assertTrue(manager.findKeyByKid("unknown").isEmpty());
+    }
+
+    @Test
+    void addKeyEvictsOldestAndNotifiesListeners(){
+        PublicKeyManager manager = new PublicKeyManager(2);
+        Set<String> evicted = ConcurrentHashMap.newKeySet();
+        manager.addEvictionListener((kid, metadata) -> evicted.add(kid));
+
+        manager.addKey(rotation("kid-1"));
+        manager.addKey(rotation("kid-2"));
+        manager.addKey(rotation("kid-3"));
+
+        assertEquals(List.of("kid-2", "kid-3"), manager.getKeyMetadata());
+        assertEquals(Set.of("kid-1"), evicted);
+        assertTrue(manager.findKeyByKid("kid-1").isEmpty());
+        assertNotNull(manager.findKeyByKid("kid-3").orElseThrow().getPublicKey());
+    }
+
+    @Test
+    void addKeyRejectsMalformedKey(){
+        PublicKeyManager manager = new PublicKeyManager(2);
+        PublicKeyRotationEvent event = PublicKeyRotationEvent.builder()
+                .kid("kid-1")
+                .publicKey("not-a-key")
+                .signingKeyAlgorithm("RSA")
+                .jwtAlgorithm("RS256")
+                .build();
+
+        assertThrows(InvalidPublicKeyException.class, () -> manager.addKey(event));
+        assertEquals(0, manager.snapshot().size());
+    }
+
+    @Test
+    void expiredKeyIsRejectedOnLookupAndEvictedBySweep(){
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        PublicKeyManager manager = new PublicKeyManager(3, clock);
+        Set<String> evicted = ConcurrentHashMap.newKeySet();
+        manager.addEvictionListener((kid, metadata) -> evicted.add(kid));
+
+        manager.addKey(rotation("kid-1", clock.instant().plus(Duration.ofMinutes(5))));
+        manager.addKey(rotation("kid-2", null));
+        assertTrue(manager.findKeyByKid("kid-1").isPresent());
+
+        clock.advance(Duration.ofMinutes(5));
+        assertTrue(manager.findKeyByKid("kid-1").isEmpty());
+        assertEquals(List.of("kid-1", "kid-2"), manager.getKeyMetadata());
+
+        assertEquals(1, manager.evictExpired());
+        assertEquals(List.of("kid-2"), manager.getKeyMetadata());
+        assertEquals(Set.of("kid-1"), evicted);
+    }
+
+    @Test
+    void revokedKeyIsRemovedAndCannotBeReAdded(){
+        PublicKeyManager manager = new PublicKeyManager(3);
+        Set<String> evicted = ConcurrentHashMap.newKeySet();
+        manager.addEvictionListener((kid, metadata) -> evicted.add(kid));
+        manager.addKey(rotation("kid-1"));
+
+        manager.revokeKey(PublicKeyRevocationEvent.builder()
+                .kid("kid-1")
+                .reason("compromised")
+                .build());
+
+        assertTrue(manager.findKeyByKid("kid-1").isEmpty());
+        assertEquals(Set.of("kid-1"), evicted);
+        assertThrows(InvalidPublicKeyException.class, () -> manager.addKey(rotation("kid-1")));
+    }
+
+    @Test
+    void concurrentRotationsNeverExposeTornKeyRing() throws Exception {
+        final int maxKeys = 3;
+        final int writers = 4;
+        final int readers = 4;
+        final int rotationsPerWriter = 500;
+
+        PublicKeyManager manager = new PublicKeyManager(maxKeys);
+        PublicKeyRotationEvent[] events = new PublicKeyRotationEvent[writers * rotationsPerWriter];
+        for(int i = 0; i < events.length; i++){
+            events[i] = rotation("kid-" + i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writerTasks = new ArrayList<>();
+            for(int w = 0; w < writers; w++){
+                final int offset = w * rotationsPerWriter;
+                writerTasks.add(executor.submit(() -> {
+                    start.await();
+                    for(int i = 0; i < rotationsPerWriter; i++){
+                        manager.addKey(events[offset + i]);
+                    }
+                    return null;
+                }));
+            }
+
+            List<Future<?>> readerTasks = new ArrayList<>();
+            for(int r = 0; r < readers; r++){
+                readerTasks.add(executor.submit(() -> {
+                    start.await();
+                    while(writing.get()){
+                        KeyRing ring = manager.snapshot();
+                        List<String> kids = ring.kids();
+
+                        assertTrue(kids.size() <= maxKeys, "key ring exceeded its bound");
+                        assertEquals(kids.size(), Set.copyOf(kids).size(), "duplicate kid in key ring");
+                        for(String kid : kids){
+                            PublicKeyMetadata metadata = ring.find(kid);
+                            assertNotNull(metadata, "kid listed but not resolvable: " + kid);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for(Future<?> task : writerTasks){
+                task.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for(Future<?> task : readerTasks){
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(maxKeys, manager.snapshot().size());
+    }
+
+    private static PublicKeyRotationEvent rotation(String kid){
+        return rotation(kid, null);
+    }
+
+    private static PublicKeyRotationEvent rotation(String kid, Instant expiresAt){
+        return PublicKeyRotationEvent.builder()
+                .kid(kid)
+                .publicKey(ENCODED_KEY)
+                .signingKeyAlgorithm("RSA")
+                .jwtAlgorithm("RS256")
+                .issuer("authmat")
+                .issuedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
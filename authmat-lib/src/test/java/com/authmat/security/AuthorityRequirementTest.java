@@ -0,0 +1,40 @@
+package com.authmat.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorityRequirementTest {
+
+    @Test
+    void anyOfMatchesSingleSharedAuthority() {
+        CompactAuthoritySet granted = CompactAuthoritySet.ofNames(List.of("ROLE_REQ_USER"));
+
+        assertTrue(AuthorityRequirement.anyOf("ROLE_REQ_ADMIN", "ROLE_REQ_USER").isSatisfiedBy(granted));
+        assertFalse(AuthorityRequirement.anyOf("ROLE_REQ_ADMIN").isSatisfiedBy(granted));
+        assertFalse(AuthorityRequirement.anyOf(List.of()).isSatisfiedBy(granted));
+    }
+
+    @Test
+    void allOfRequiresEveryAuthority() {
+        CompactAuthoritySet granted = CompactAuthoritySet.ofNames(List.of("ROLE_REQ_USER", "ROLE_REQ_ADMIN"));
+
+        assertTrue(AuthorityRequirement.allOf("ROLE_REQ_USER", "ROLE_REQ_ADMIN").isSatisfiedBy(granted));
+        assertFalse(AuthorityRequirement.allOf("ROLE_REQ_USER", "ROLE_REQ_AUDITOR").isSatisfiedBy(granted));
+        assertTrue(AuthorityRequirement.allOf(List.of()).isSatisfiedBy(granted));
+    }
+
+    @Test
+    void checksSpanMultipleWords() {
+        List<String> roles = IntStream.range(0, 500).mapToObj(i -> "ROLE_REQ_" + i).toList();
+        CompactAuthoritySet granted = CompactAuthoritySet.ofNames(roles.subList(0, 499));
+
+        assertTrue(AuthorityRequirement.allOf(roles.subList(0, 499)).isSatisfiedBy(granted));
+        assertFalse(AuthorityRequirement.allOf(roles).isSatisfiedBy(granted));
+        assertTrue(AuthorityRequirement.anyOf(roles.subList(498, 500)).isSatisfiedBy(granted));
+        assertFalse(AuthorityRequirement.anyOf(roles.get(499)).isSatisfiedBy(granted));
+    }
+}
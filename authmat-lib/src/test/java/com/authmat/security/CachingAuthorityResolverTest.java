@@ -0,0 +1,165 @@
+package com.authmat.security;
+
+import com.authmat.events.AuthoritiesChangedEvent;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingAuthorityResolverTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    private VersionedStubAuthorityResolver backend;
+    private CachingAuthorityResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        backend = new VersionedStubAuthorityResolver();
+        backend.grant("user-1", "ROLE_USER");
+
+        resolver = CachingAuthorityResolver.builder()
+                .delegate(backend)
+                .ttl(Duration.ofMinutes(10))
+                .refreshAhead(Duration.ofMinutes(1))
+                .refreshExecutor(Runnable::run)
+                .ticker(nanos::get)
+                .build();
+    }
+
+    @Test
+    void unchangedRefreshReusesCachedSetInstance() {
+        Set<GrantedAuthority> first = resolver.resolve("user-1");
+
+        advance(Duration.ofMinutes(2));
+        resolver.resolve("user-1");
+        Set<GrantedAuthority> refreshed = resolver.resolve("user-1");
+
+        assertSame(first, refreshed);
+        assertEquals(1, backend.fullResolves.get());
+        assertEquals(1, backend.notModifiedReplies.get());
+    }
+
+    @Test
+    void changedRefreshPicksUpNewAuthorities() {
+        resolver.resolve("user-1");
+        backend.grant("user-1", "ROLE_USER", "ROLE_ADMIN");
+
+        advance(Duration.ofMinutes(2));
+        resolver.resolve("user-1");
+
+        assertTrue(resolver.resolve("user-1").contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        assertEquals(2, backend.fullResolves.get());
+    }
+
+    @Test
+    void invalidationEventEvictsOnlyStaleEntries() {
+        resolver.resolve("user-1");
+
+        resolver.onAuthoritiesChanged(AuthoritiesChangedEvent.of("user-1", backend.versionOf("user-1")));
+        resolver.resolve("user-1");
+        assertEquals(1, backend.fullResolves.get());
+
+        backend.grant("user-1", "ROLE_AUDITOR");
+        resolver.onAuthoritiesChanged(AuthoritiesChangedEvent.of("user-1", backend.versionOf("user-1")));
+
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_AUDITOR")), resolver.resolve("user-1"));
+        assertEquals(2, backend.fullResolves.get());
+    }
+
+    @Test
+    void entryIsReloadedAfterTtl() {
+        resolver.resolve("user-1");
+
+        advance(Duration.ofMinutes(11));
+        resolver.resolve("user-1");
+
+        assertEquals(2, backend.fullResolves.get());
+        assertEquals(0, backend.notModifiedReplies.get());
+    }
+
+    @Test
+    void failedRefreshKeepsValueOnlyUntilTtl() {
+        AtomicBoolean failing = new AtomicBoolean();
+        CachingAuthorityResolver unversioned = unversionedResolver(userId -> {
+            if (failing.get()) {
+                throw new AuthorityResolutionException("authority store unavailable");
+            }
+            return Set.of(new SimpleGrantedAuthority("ROLE_USER"));
+        });
+        Set<GrantedAuthority> first = unversioned.resolve("user-1");
+        failing.set(true);
+
+        advance(Duration.ofMinutes(2));
+        assertSame(first, unversioned.resolve("user-1"));
+        assertSame(first, unversioned.resolve("user-1"));
+
+        advance(Duration.ofMinutes(9));
+        assertThrows(AuthorityResolutionException.class, () -> unversioned.resolve("user-1"));
+    }
+
+    @Test
+    void unversionedDelegateIsRefreshedAhead() {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<Set<GrantedAuthority>> granted =
+                new AtomicReference<>(Set.of(new SimpleGrantedAuthority("ROLE_USER")));
+        CachingAuthorityResolver unversioned = unversionedResolver(userId -> {
+            calls.incrementAndGet();
+            return granted.get();
+        });
+        unversioned.resolve("user-1");
+        granted.set(Set.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        advance(Duration.ofSeconds(30));
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_USER")), unversioned.resolve("user-1"));
+        assertEquals(1, calls.get());
+
+        advance(Duration.ofMinutes(1));
+        unversioned.resolve("user-1");
+
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_ADMIN")), unversioned.resolve("user-1"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void statsCountHitsMissesAndLoads() {
+        resolver.resolve("user-1");
+        resolver.resolve("user-1");
+        resolver.resolve("user-1");
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("unknown"));
+
+        CacheStats stats = resolver.stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(1, stats.loadSuccessCount());
+        assertEquals(1, stats.loadFailureCount());
+    }
+
+    @Test
+    void loadFailureFailsClosed() {
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("unknown"));
+    }
+
+    private CachingAuthorityResolver unversionedResolver(AuthorityResolver delegate) {
+        return CachingAuthorityResolver.builder()
+                .delegate(delegate)
+                .ttl(Duration.ofMinutes(10))
+                .refreshAhead(Duration.ofMinutes(1))
+                .refreshExecutor(Runnable::run)
+                .ticker(nanos::get)
+                .build();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,98 @@
+package com.authmat.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingAuthorityResolverTest {
+    private static final int BURST_SIZE = 64;
+    private static final Set<GrantedAuthority> AUTHORITIES = Set.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    @Test
+    void burstOnPlatformThreadsIsCoalesced() throws Exception {
+        assertBurstCoalesced(Executors.newFixedThreadPool(BURST_SIZE));
+    }
+
+    @Test
+    void burstOnVirtualThreadsIsCoalesced() throws Exception {
+        assertBurstCoalesced(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Test
+    void failureIsSharedByAllWaitersAndNotRemembered() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CoalescingAuthorityResolver resolver = new CoalescingAuthorityResolver(userId -> {
+            calls.incrementAndGet();
+            sleep(100);
+            throw new AuthorityResolutionException("AuthMat unavailable");
+        });
+
+        List<Future<Set<GrantedAuthority>>> results = burst(Executors.newFixedThreadPool(8), 8, resolver);
+        for (Future<Set<GrantedAuthority>> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(AuthorityResolutionException.class, e.getCause());
+        }
+
+        int burstCalls = calls.get();
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+        assertEquals(burstCalls + 1, calls.get());
+    }
+
+    private void assertBurstCoalesced(ExecutorService executor) throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CoalescingAuthorityResolver resolver = new CoalescingAuthorityResolver(userId -> {
+            calls.incrementAndGet();
+            sleep(200);
+            return AUTHORITIES;
+        });
+
+        for (Future<Set<GrantedAuthority>> result : burst(executor, BURST_SIZE, resolver)) {
+            assertEquals(AUTHORITIES, result.get(10, TimeUnit.SECONDS));
+        }
+
+        // One call per burst; a straggler scheduled after the first load finished may start a second.
+        assertTrue(calls.get() <= 2, "expected about one backend call per burst but was " + calls.get());
+    }
+
+    private static List<Future<Set<GrantedAuthority>>> burst(
+            ExecutorService executor, int size, AuthorityResolver resolver
+    ) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(size);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Set<GrantedAuthority>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < size; i++) {
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return resolver.resolve("user-1");
+                }));
+            }
+            ready.await(10, TimeUnit.SECONDS);
+            start.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.authmat.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactAuthoritySetTest {
+
+    @Test
+    void internReturnsCanonicalInstance() {
+        assertSame(AuthorityInterner.intern("ROLE_COMPACT_USER"), AuthorityInterner.intern("ROLE_COMPACT_USER"));
+    }
+
+    @Test
+    void behavesLikeAnEqualHashSet() {
+        Set<GrantedAuthority> expected = Set.of(
+                new SimpleGrantedAuthority("ROLE_COMPACT_USER"),
+                new SimpleGrantedAuthority("ROLE_COMPACT_ADMIN"));
+
+        CompactAuthoritySet compact = CompactAuthoritySet.copyOf(expected);
+
+        assertEquals(expected, compact);
+        assertEquals(compact, expected);
+        assertEquals(expected.hashCode(), compact.hashCode());
+        assertTrue(compact.contains(new SimpleGrantedAuthority("ROLE_COMPACT_ADMIN")));
+        assertFalse(compact.contains(new SimpleGrantedAuthority("ROLE_COMPACT_AUDITOR")));
+        assertFalse(compact.contains("ROLE_COMPACT_ADMIN"));
+        assertEquals(expected, new HashSet<>(compact));
+    }
+
+    @Test
+    void spansMultipleWords() {
+        List<String> roles = IntStream.range(0, 200).mapToObj(i -> "ROLE_COMPACT_" + i).toList();
+
+        CompactAuthoritySet compact = CompactAuthoritySet.ofNames(roles);
+
+        assertEquals(200, compact.size());
+        roles.forEach(role -> assertTrue(compact.containsAuthority(role)));
+        assertEquals(200, compact.stream().count());
+    }
+
+    @Test
+    void isImmutable() {
+        CompactAuthoritySet compact = CompactAuthoritySet.ofNames(List.of("ROLE_COMPACT_USER"));
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> compact.add(new SimpleGrantedAuthority("ROLE_COMPACT_ADMIN")));
+        assertThrows(UnsupportedOperationException.class, compact::clear);
+    }
+}
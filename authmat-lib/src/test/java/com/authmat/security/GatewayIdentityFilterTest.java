@@ -0,0 +1,156 @@
+package com.authmat.security;
+
+import com.authmat.security.audit.AuditEvent;
+import com.authmat.security.context.RequestContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayIdentityFilterTest {
+    private static final String SECRET = "gateway-secret";
+
+    private final List<AuditEvent> audited = new CopyOnWriteArrayList<>();
+    private final CountingFilterChain chain = new CountingFilterChain();
+
+    @AfterEach
+    void clearContext(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedRequestRunsChainExactlyOnce() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(userId -> Set.of(new SimpleGrantedAuthority("ROLE_USER")))
+                .doFilter(authenticatedRequest(), response, chain);
+
+        assertEquals(1, chain.invocations.get());
+        assertEquals("user-1", chain.principal);
+        assertEquals(200, response.getStatus());
+        assertEquals(AuditEvent.Type.GATEWAY_AUTH_SUCCESS, audited.getFirst().type());
+    }
+
+    @Test
+    void invalidGatewaySecretNeverRunsChain() throws Exception {
+        MockHttpServletRequest request = authenticatedRequest();
+        request.removeHeader(GatewayIdentityFilter.GATEWAY_SECRET_HEADER);
+        request.addHeader(GatewayIdentityFilter.GATEWAY_SECRET_HEADER, "wrong");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        GatewayIdentityFilter filter = filter(userId -> Set.of());
+        filter.doFilter(request, response, chain);
+
+        assertEquals(0, chain.invocations.get());
+        assertEquals(403, response.getStatus());
+        assertEquals(1, filter.rejectionCount(GatewayIdentityFilter.BYPASS_CATEGORY));
+        assertEquals(AuditEvent.Type.GATEWAY_BYPASS_ATTEMPT, audited.getFirst().type());
+    }
+
+    @Test
+    void everyBypassAttemptIsAuditedEvenWhenItsLogLineIsSuppressed() throws Exception {
+        GatewayIdentityFilter filter = filter(userId -> Set.of());
+
+        for(int i = 0; i < 100; i++){
+            MockHttpServletRequest request = authenticatedRequest();
+            request.removeHeader(GatewayIdentityFilter.GATEWAY_SECRET_HEADER);
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        }
+
+        assertEquals(100, filter.rejectionCount(GatewayIdentityFilter.BYPASS_CATEGORY));
+        assertEquals(100, audited.stream()
+                .filter(event -> event.type() == AuditEvent.Type.GATEWAY_BYPASS_ATTEMPT)
+                .count());
+    }
+
+    @Test
+    void missingIdentityHeaderNeverRunsChain() throws Exception {
+        MockHttpServletRequest request = authenticatedRequest();
+        request.removeHeader(GatewayIdentityFilter.USER_HEADER);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(userId -> Set.of()).doFilter(request, response, chain);
+
+        assertEquals(0, chain.invocations.get());
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void authorityResolutionFailureNeverRunsChain() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(userId -> { throw new AuthorityResolutionException("AuthMat unavailable"); })
+                .doFilter(authenticatedRequest(), response, chain);
+
+        assertEquals(0, chain.invocations.get());
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    void downstreamFailurePropagatesWithoutRerunningChain(){
+        FilterChain failingChain = (request, response) -> {
+            chain.invocations.incrementAndGet();
+            throw new IllegalStateException("controller failed");
+        };
+
+        assertThrows(IllegalStateException.class, () ->
+                filter(userId -> Set.of()).doFilter(authenticatedRequest(), new MockHttpServletResponse(), failingChain));
+        assertEquals(1, chain.invocations.get());
+    }
+
+    @Test
+    void authorityResolverRunsWithRequestContextInMdc() throws Exception {
+        MockHttpServletRequest request = authenticatedRequest();
+        request.addHeader(GatewayIdentityFilter.REQUEST_ID_HEADER, "req-1");
+        List<String> seenByResolver = new CopyOnWriteArrayList<>();
+
+        filter(userId -> {
+            seenByResolver.add(MDC.get(RequestContext.REQUEST_ID_KEY));
+            seenByResolver.add(MDC.get(RequestContext.USER_ID_KEY));
+            return Set.of(new SimpleGrantedAuthority("ROLE_USER"));
+        }).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(List.of("req-1", "user-1"), seenByResolver);
+        assertNull(MDC.get(RequestContext.REQUEST_ID_KEY));
+        assertNull(MDC.get(RequestContext.USER_ID_KEY));
+    }
+
+    private GatewayIdentityFilter filter(AuthorityResolver authorityResolver){
+        return new GatewayIdentityFilter(SECRET, new ObjectMapper(), authorityResolver, audited::add);
+    }
+
+    private static MockHttpServletRequest authenticatedRequest(){
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/documents");
+        request.addHeader(GatewayIdentityFilter.GATEWAY_SECRET_HEADER, SECRET);
+        request.addHeader(GatewayIdentityFilter.USER_HEADER, "user-1");
+        return request;
+    }
+
+    private static final class CountingFilterChain implements FilterChain {
+        private final AtomicInteger invocations = new AtomicInteger();
+        private volatile Object principal;
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws ServletException {
+            invocations.incrementAndGet();
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            principal = authentication == null ? null : authentication.getPrincipal();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.authmat.security;
+
+import com.authmat.events.AuthoritiesChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryAuthorityInvalidationChannelTest {
+    private final InMemoryAuthorityInvalidationChannel channel = new InMemoryAuthorityInvalidationChannel();
+
+    @Test
+    void subscribersReceivePublishedEvents() {
+        List<AuthoritiesChangedEvent> first = new CopyOnWriteArrayList<>();
+        List<AuthoritiesChangedEvent> second = new CopyOnWriteArrayList<>();
+        channel.subscribe(first::add);
+        channel.subscribe(second::add);
+
+        AuthoritiesChangedEvent event = AuthoritiesChangedEvent.of("user-1", 3);
+        channel.publish(event);
+
+        assertEquals(List.of(event), first);
+        assertEquals(List.of(event), second);
+    }
+
+    @Test
+    void closedSubscriptionStopsDelivery() {
+        List<AuthoritiesChangedEvent> received = new CopyOnWriteArrayList<>();
+        AuthorityInvalidationChannel.Subscription subscription = channel.subscribe(received::add);
+
+        channel.publish(AuthoritiesChangedEvent.of("user-1", 1));
+        subscription.close();
+        channel.publish(AuthoritiesChangedEvent.of("user-1", 2));
+
+        assertEquals(1, received.size());
+        assertEquals(1, received.get(0).version());
+    }
+
+    @Test
+    void closingOneSubscriptionKeepsTheOthers() {
+        List<AuthoritiesChangedEvent> kept = new CopyOnWriteArrayList<>();
+        AuthorityInvalidationChannel.Subscription dropped = channel.subscribe(event -> { });
+        channel.subscribe(kept::add);
+
+        dropped.close();
+        dropped.close();
+        channel.publish(AuthoritiesChangedEvent.of("user-1", 1));
+
+        assertEquals(1, kept.size());
+    }
+
+    @Test
+    void failingListenerDoesNotBlockOthers() {
+        List<AuthoritiesChangedEvent> before = new CopyOnWriteArrayList<>();
+        List<AuthoritiesChangedEvent> after = new CopyOnWriteArrayList<>();
+        channel.subscribe(before::add);
+        channel.subscribe(event -> {
+            throw new IllegalStateException("listener failed");
+        });
+        channel.subscribe(after::add);
+
+        AuthoritiesChangedEvent event = AuthoritiesChangedEvent.of("user-1", 1);
+        assertDoesNotThrow(() -> channel.publish(event));
+
+        assertEquals(List.of(event), before);
+        assertEquals(List.of(event), after);
+    }
+
+    @Test
+    void rejectsNullListener() {
+        assertThrows(IllegalArgumentException.class, () -> channel.subscribe(null));
+    }
+}
@@ -0,0 +1,237 @@
+package com.authmat.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatchingAuthorityResolverTest {
+
+    @Test
+    void concurrentMissesShareBatchedBackendCalls() throws Exception {
+        CountingResolver backend = new CountingResolver();
+        int callers = 200;
+
+        try (MicroBatchingAuthorityResolver resolver = MicroBatchingAuthorityResolver.builder()
+                .delegate(backend)
+                .window(Duration.ofMillis(20))
+                .maxBatchSize(100)
+                .build()) {
+
+            List<Future<Set<GrantedAuthority>>> results = burst(resolver, callers);
+            for (int i = 0; i < callers; i++) {
+                assertEquals(Set.of(authorityFor("user-" + i)), results.get(i).get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(0, backend.singleCalls.get());
+        assertTrue(backend.batchCalls.get() <= callers / 10,
+                "expected an order of magnitude fewer backend calls but was " + backend.batchCalls.get());
+    }
+
+    @Test
+    void fullBatchIsDispatchedWithoutWaitingForWindow() throws Exception {
+        CountingResolver backend = new CountingResolver();
+
+        try (MicroBatchingAuthorityResolver resolver = MicroBatchingAuthorityResolver.builder()
+                .delegate(backend)
+                .window(Duration.ofMinutes(1))
+                .maxBatchSize(4)
+                .build()) {
+
+            for (Future<Set<GrantedAuthority>> result : burst(resolver, 4)) {
+                assertNotNull(result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, backend.batchCalls.get());
+    }
+
+    @Test
+    void fullBatchIsResolvedOnDispatchExecutor() {
+        CountingResolver backend = new CountingResolver();
+        AtomicInteger dispatched = new AtomicInteger();
+        Executor dispatchExecutor = task -> {
+            dispatched.incrementAndGet();
+            Thread.ofVirtual().start(task);
+        };
+
+        try (MicroBatchingAuthorityResolver resolver = MicroBatchingAuthorityResolver.builder()
+                .delegate(backend)
+                .window(Duration.ofMinutes(1))
+                .maxBatchSize(1)
+                .dispatchExecutor(dispatchExecutor)
+                .build()) {
+            assertEquals(Set.of(authorityFor("user-1")), resolver.resolve("user-1"));
+        }
+
+        assertEquals(1, dispatched.get());
+    }
+
+    @Test
+    void resolveAfterCloseFailsClosed() {
+        MicroBatchingAuthorityResolver resolver = MicroBatchingAuthorityResolver.builder()
+                .delegate(new CountingResolver())
+                .build();
+        resolver.close();
+
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+    }
+
+    @Test
+    void closeLeavesCallerSuppliedExecutorRunning() {
+        ExecutorService supplied = Executors.newVirtualThreadPerTaskExecutor();
+        MicroBatchingAuthorityResolver resolver = MicroBatchingAuthorityResolver.builder()
+                .delegate(new CountingResolver())
+                .maxBatchSize(1)
+                .dispatchExecutor(supplied)
+                .build();
+        assertEquals(Set.of(authorityFor("user-1")), resolver.resolve("user-1"));
+
+        resolver.close();
+
+        assertFalse(supplied.isShutdown());
+        supplied.shutdown();
+    }
+
+    @Test
+    void delegateErrorCompletesWaitersInsteadOfTimingOut() {
+        AuthorityResolver backend = new AuthorityResolver() {
+            @Override
+            public Set<GrantedAuthority> resolve(String userId) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Map<String, Set<GrantedAuthority>> resolveAll(Collection<String> userIds) {
+                throw new AssertionError("backend crashed");
+            }
+        };
+
+        try (MicroBatchingAuthorityResolver resolver = MicroBatchingAuthorityResolver.builder()
+                .delegate(backend)
+                .maxBatchSize(1)
+                .timeout(Duration.ofMinutes(1))
+                .dispatchExecutor(task -> Thread.ofVirtual()
+                        .uncaughtExceptionHandler((thread, e) -> { })
+                        .start(task))
+                .build()) {
+            AuthorityResolutionException failure =
+                    assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+            assertFalse(failure.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    void everyCallerGetsItsOwnException() throws Exception {
+        AuthorityResolver backend = new AuthorityResolver() {
+            @Override
+            public Set<GrantedAuthority> resolve(String userId) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Map<String, Set<GrantedAuthority>> resolveAll(Collection<String> userIds) {
+                throw new AuthorityResolutionException("authority store unavailable");
+            }
+        };
+
+        try (MicroBatchingAuthorityResolver resolver = MicroBatchingAuthorityResolver.builder()
+                .delegate(backend)
+                .window(Duration.ofMinutes(1))
+                .maxBatchSize(2)
+                .build()) {
+            List<Future<Set<GrantedAuthority>>> results = burst(resolver, 2);
+            Throwable first = assertThrows(ExecutionException.class, () -> results.get(0).get(5, TimeUnit.SECONDS)).getCause();
+            Throwable second = assertThrows(ExecutionException.class, () -> results.get(1).get(5, TimeUnit.SECONDS)).getCause();
+
+            assertInstanceOf(AuthorityResolutionException.class, first);
+            assertInstanceOf(AuthorityResolutionException.class, second);
+            assertNotSame(first, second);
+            assertSame(first.getCause(), second.getCause());
+        }
+    }
+
+    @Test
+    void missingEntryFailsClosed() {
+        AuthorityResolver backend = new AuthorityResolver() {
+            @Override
+            public Set<GrantedAuthority> resolve(String userId) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Map<String, Set<GrantedAuthority>> resolveAll(Collection<String> userIds) {
+                return Map.of();
+            }
+        };
+
+        try (MicroBatchingAuthorityResolver resolver = MicroBatchingAuthorityResolver.builder()
+                .delegate(backend)
+                .build()) {
+            assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+        }
+    }
+
+    private static List<Future<Set<GrantedAuthority>>> burst(AuthorityResolver resolver, int callers)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Set<GrantedAuthority>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                String userId = "user-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return resolver.resolve(userId);
+                }));
+            }
+            start.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static GrantedAuthority authorityFor(String userId) {
+        return new SimpleGrantedAuthority("ROLE_" + userId);
+    }
+
+    /** Local stand-in for AuthMat that counts single and batched calls. */
+    private static final class CountingResolver implements AuthorityResolver {
+        final AtomicInteger singleCalls = new AtomicInteger();
+        final AtomicInteger batchCalls = new AtomicInteger();
+
+        @Override
+        public Set<GrantedAuthority> resolve(String userId) {
+            singleCalls.incrementAndGet();
+            return Set.of(authorityFor(userId));
+        }
+
+        @Override
+        public Map<String, Set<GrantedAuthority>> resolveAll(Collection<String> userIds) {
+            batchCalls.incrementAndGet();
+            Map<String, Set<GrantedAuthority>> resolved = new HashMap<>();
+            userIds.forEach(userId -> resolved.put(userId, Set.of(authorityFor(userId))));
+            return resolved;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.authmat.security;
+
+import com.authmat.support.MutableClock;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreEncodedErrorResponseTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00.123Z"));
+
+    @Test
+    void writesJsonBodyWithContentLength() throws Exception {
+        PreEncodedErrorResponse error = new PreEncodedErrorResponse(403, "Forbidden \"quoted\"", objectMapper);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        error.writeTo(response, new PreEncodedErrorResponse.TimestampCache(clock).current());
+
+        byte[] body = response.getContentAsByteArray();
+        JsonNode json = objectMapper.readTree(body);
+        assertEquals(403, response.getStatus());
+        assertEquals("application/json", response.getContentType().split(";")[0]);
+        assertEquals(body.length, response.getContentLength());
+        assertEquals(403, json.get("status").asInt());
+        assertEquals("Forbidden \"quoted\"", json.get("error").asText());
+        assertEquals("2026-01-01T00:00:00.123Z", json.get("timestamp").asText());
+    }
+
+    @Test
+    void timestampIsReformattedOnlyWhenTheMillisecondChanges(){
+        PreEncodedErrorResponse.TimestampCache timestamps = new PreEncodedErrorResponse.TimestampCache(clock);
+
+        byte[] first = timestamps.current();
+        assertSame(first, timestamps.current());
+
+        clock.advance(Duration.ofMillis(1));
+        assertEquals("2026-01-01T00:00:00.124Z", new String(timestamps.current(), StandardCharsets.US_ASCII));
+    }
+}
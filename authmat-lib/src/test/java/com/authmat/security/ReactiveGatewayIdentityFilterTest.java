@@ -0,0 +1,106 @@
+package com.authmat.security;
+
+import com.authmat.security.audit.AuditEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveGatewayIdentityFilterTest {
+    private static final String SECRET = "gateway-secret";
+
+    private final List<AuditEvent> audited = new CopyOnWriteArrayList<>();
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicReference<Object> principal = new AtomicReference<>();
+    private final WebFilterChain chain = exchange -> {
+        invocations.incrementAndGet();
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .doOnNext(authentication -> principal.set(authentication.getPrincipal()))
+                .then();
+    };
+
+    @Test
+    void authenticatedRequestPopulatesReactiveSecurityContext(){
+        MockServerWebExchange exchange = exchange(SECRET, "user-1");
+        AuthorityResolver blocking = userId -> Set.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+        filter(new BlockingAuthorityResolverAdapter(blocking)).filter(exchange, chain).block();
+
+        assertEquals(1, invocations.get());
+        assertEquals("user-1", principal.get());
+        assertEquals(AuditEvent.Type.GATEWAY_AUTH_SUCCESS, audited.getFirst().type());
+    }
+
+    @Test
+    void invalidGatewaySecretIsRejectedWithoutRunningChain(){
+        MockServerWebExchange exchange = exchange("wrong", "user-1");
+
+        filter(userId -> Mono.just(Set.of())).filter(exchange, chain).block();
+
+        assertEquals(0, invocations.get());
+        assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+        assertTrue(exchange.getResponse().getBodyAsString().block().contains("\"status\":403"));
+    }
+
+    @Test
+    void missingIdentityHeaderIsRejectedWithoutRunningChain(){
+        MockServerWebExchange exchange = exchange(SECRET, null);
+
+        filter(userId -> Mono.just(Set.of())).filter(exchange, chain).block();
+
+        assertEquals(0, invocations.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void failingBlockingResolverFailsClosed(){
+        MockServerWebExchange exchange = exchange(SECRET, "user-1");
+        AuthorityResolver blocking = userId -> { throw new IllegalStateException("store down"); };
+
+        filter(new BlockingAuthorityResolverAdapter(blocking)).filter(exchange, chain).block();
+
+        assertEquals(0, invocations.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void blockingAdapterRunsDelegateOffTheCallingThread(){
+        AtomicReference<String> resolvingThread = new AtomicReference<>();
+        AuthorityResolver blocking = userId -> {
+            resolvingThread.set(Thread.currentThread().getName());
+            return Set.of();
+        };
+
+        new BlockingAuthorityResolverAdapter(blocking).resolve("user-1").block();
+
+        assertTrue(resolvingThread.get().startsWith("boundedElastic"), resolvingThread.get());
+    }
+
+    private ReactiveGatewayIdentityFilter filter(ReactiveAuthorityResolver authorityResolver){
+        return new ReactiveGatewayIdentityFilter(SECRET, new ObjectMapper(), authorityResolver, audited::add);
+    }
+
+    private static MockServerWebExchange exchange(String secret, String userId){
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/documents")
+                .header(GatewayIdentityFilter.GATEWAY_SECRET_HEADER, secret);
+        if(userId != null){
+            request.header(GatewayIdentityFilter.USER_HEADER, userId);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,147 @@
+package com.authmat.security;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteAuthorityResolverTest {
+    private final CountDownLatch releaseSlowResponse = new CountDownLatch(1);
+    private HttpServer server;
+    private URI baseUri;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/internal/users/", exchange -> {
+            String userId = exchange.getRequestURI().getPath().split("/")[3];
+            switch (userId) {
+                case "user-1" -> respond(exchange, 200, "[\"ROLE_USER\",\"ROLE_ADMIN\"]");
+                case "user-2" -> respond(exchange, 200, "{\"authorities\":[\"ROLE_USER\"],\"version\":3}");
+                case "broken" -> respond(exchange, 200, "{\"roles\":true}");
+                case "slow"   -> {
+                    await(releaseSlowResponse);
+                    respond(exchange, 200, "[]");
+                }
+                default -> respond(exchange, 500, "{\"error\":\"boom\"}");
+            }
+        });
+        server.start();
+        baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stopStub(){
+        releaseSlowResponse.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void resolvesBareArrayAndWrappedResponses(){
+        RemoteAuthorityResolver resolver = RemoteAuthorityResolver.builder().baseUri(baseUri).build();
+
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), names(resolver.resolve("user-1")));
+        assertEquals(Set.of("ROLE_USER"), names(resolver.resolve("user-2")));
+    }
+
+    @Test
+    void authoritiesPathIsAppendedToBaseUriPath(){
+        server.createContext("/api/internal/users/", exchange -> respond(exchange, 200, "[\"ROLE_API\"]"));
+
+        for(String prefix : List.of("/api", "/api/")){
+            RemoteAuthorityResolver resolver = RemoteAuthorityResolver.builder()
+                    .baseUri(URI.create(baseUri + prefix))
+                    .build();
+
+            assertEquals(Set.of("ROLE_API"), names(resolver.resolve("user-1")));
+        }
+    }
+
+    @Test
+    void errorStatusAndMalformedBodyFailClosed(){
+        RemoteAuthorityResolver resolver = RemoteAuthorityResolver.builder().baseUri(baseUri).build();
+
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("unknown"));
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("broken"));
+    }
+
+    @Test
+    void callExceedingDeadlineFailsAndReleasesPermit(){
+        RemoteAuthorityResolver resolver = RemoteAuthorityResolver.builder()
+                .baseUri(baseUri)
+                .maxConcurrentCalls(1)
+                .timeout(Duration.ofMillis(200))
+                .build();
+
+        long start = System.nanoTime();
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("slow"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, resolver.availablePermits());
+    }
+
+    @Test
+    void waitingForAPermitCountsAgainstTheDeadline() throws Exception {
+        RemoteAuthorityResolver resolver = RemoteAuthorityResolver.builder()
+                .baseUri(baseUri)
+                .maxConcurrentCalls(1)
+                .timeout(Duration.ofMillis(500))
+                .build();
+
+        try(ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()){
+            long start = System.nanoTime();
+            Future<Set<GrantedAuthority>> first = virtualThreads.submit(() -> resolver.resolve("slow"));
+            Future<Set<GrantedAuthority>> second = virtualThreads.submit(() -> resolver.resolve("slow"));
+
+            ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+
+            assertInstanceOf(AuthorityResolutionException.class, firstFailure.getCause());
+            assertInstanceOf(AuthorityResolutionException.class, secondFailure.getCause());
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(900),
+                    "queued caller must not get a fresh deadline after acquiring the permit");
+            assertEquals(1, resolver.availablePermits());
+        }
+    }
+
+    private static Set<String> names(Set<GrantedAuthority> authorities){
+        return authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try(OutputStream out = exchange.getResponseBody()){
+            out.write(bytes);
+        }
+    }
+
+    private static void await(CountDownLatch latch){
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.authmat.security;
+
+import com.authmat.events.AuthoritiesChangedEvent;
+import com.authmat.support.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientAuthorityResolverTest {
+    private static final Set<GrantedAuthority> USER = Set.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final FakeSlowResolver delegate = new FakeSlowResolver();
+
+    @Test
+    void openCircuitFailsFastWithoutCallingDelegateThenRecovers(){
+        ResilientAuthorityResolver resolver = ResilientAuthorityResolver.builder()
+                .delegate(delegate)
+                .circuitBreaker(breaker())
+                .build();
+
+        delegate.failing = true;
+        IntStream.range(0, 4).forEach(i ->
+                assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1")));
+        assertEquals(SlidingWindowCircuitBreaker.State.OPEN, resolver.circuitState());
+
+        int callsWhenOpened = delegate.calls.get();
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+        assertEquals(callsWhenOpened, delegate.calls.get());
+
+        delegate.failing = false;
+        clock.advance(Duration.ofSeconds(5));
+        assertEquals(USER, resolver.resolve("user-1"));
+        assertEquals(SlidingWindowCircuitBreaker.State.CLOSED, resolver.circuitState());
+    }
+
+    @Test
+    void failedTrialCallReopensTheCircuit(){
+        SlidingWindowCircuitBreaker breaker = breaker();
+        IntStream.range(0, 4).forEach(i -> breaker.tryAcquire().onFailure());
+
+        clock.advance(Duration.ofSeconds(5));
+        SlidingWindowCircuitBreaker.Permit trial = breaker.tryAcquire();
+        assertNotNull(trial);
+        assertNull(breaker.tryAcquire());
+
+        trial.onFailure();
+        assertEquals(SlidingWindowCircuitBreaker.State.OPEN, breaker.state());
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void halfOpenOnlyClosesOnTrialSuccess(){
+        SlidingWindowCircuitBreaker breaker = breaker();
+        SlidingWindowCircuitBreaker.Permit straggler = breaker.tryAcquire();
+        IntStream.range(0, 4).forEach(i -> breaker.tryAcquire().onFailure());
+
+        clock.advance(Duration.ofSeconds(5));
+        SlidingWindowCircuitBreaker.Permit trial = breaker.tryAcquire();
+
+        straggler.onSuccess();
+        assertEquals(SlidingWindowCircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        trial.onSuccess();
+        assertEquals(SlidingWindowCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void slowNonHedgedCallsTimeOutAndTripBreaker(){
+        ResilientAuthorityResolver resolver = ResilientAuthorityResolver.builder()
+                .delegate(delegate)
+                .circuitBreaker(breaker())
+                .timeout(Duration.ofMillis(50))
+                .build();
+        delegate.slow = true;
+
+        long start = System.nanoTime();
+        IntStream.range(0, 4).forEach(i ->
+                assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1")));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(SlidingWindowCircuitBreaker.State.OPEN, resolver.circuitState());
+        delegate.release.countDown();
+        resolver.close();
+    }
+
+    @Test
+    void closeShutsDownOnlyOwnedExecutor(){
+        ExecutorService supplied = Executors.newVirtualThreadPerTaskExecutor();
+        ResilientAuthorityResolver resolver = ResilientAuthorityResolver.builder()
+                .delegate(delegate)
+                .attemptExecutor(supplied)
+                .build();
+        assertEquals(USER, resolver.resolve("user-1"));
+
+        resolver.close();
+
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+        assertFalse(supplied.isShutdown());
+        supplied.shutdown();
+    }
+
+    @Test
+    void servesStaleAuthoritiesOnlyWithinMaxStaleness(){
+        ResilientAuthorityResolver resolver = ResilientAuthorityResolver.builder()
+                .delegate(delegate)
+                .clock(clock)
+                .circuitBreaker(breaker())
+                .maxStaleness(Duration.ofMinutes(1))
+                .build();
+
+        assertEquals(USER, resolver.resolve("user-1"));
+
+        delegate.failing = true;
+        clock.advance(Duration.ofSeconds(59));
+        assertEquals(USER, resolver.resolve("user-1"));
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+    }
+
+    @Test
+    void revocationDropsStaleEntry(){
+        ResilientAuthorityResolver resolver = ResilientAuthorityResolver.builder()
+                .delegate(delegate)
+                .clock(clock)
+                .circuitBreaker(breaker())
+                .maxStaleness(Duration.ofMinutes(1))
+                .build();
+        resolver.resolve("user-1");
+
+        resolver.onAuthoritiesChanged(AuthoritiesChangedEvent.of("user-1", 2));
+        delegate.failing = true;
+
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+    }
+
+    @Test
+    void hedgedAttemptAnswersWhenPrimaryIsSlow(){
+        ResilientAuthorityResolver resolver = ResilientAuthorityResolver.builder()
+                .delegate(delegate)
+                .circuitBreaker(breaker())
+                .hedging(true)
+                .hedgeDelayFloor(Duration.ofMillis(20))
+                .build();
+        delegate.slowFirstCall = true;
+
+        long start = System.nanoTime();
+        assertEquals(USER, resolver.resolve("user-1"));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, delegate.calls.get());
+        delegate.release.countDown();
+    }
+
+    @Test
+    void hedgedCallFailsClosedWhenBothAttemptsFail(){
+        ResilientAuthorityResolver resolver = ResilientAuthorityResolver.builder()
+                .delegate(delegate)
+                .circuitBreaker(breaker())
+                .hedging(true)
+                .hedgeDelayFloor(Duration.ofMillis(5))
+                .build();
+        delegate.failing = true;
+
+        assertThrows(AuthorityResolutionException.class, () -> resolver.resolve("user-1"));
+        assertEquals(2, delegate.calls.get());
+    }
+
+    private SlidingWindowCircuitBreaker breaker(){
+        return SlidingWindowCircuitBreaker.builder()
+                .clock(clock)
+                .minimumCalls(4)
+                .failureRateThreshold(0.5)
+                .window(Duration.ofSeconds(10))
+                .openDuration(Duration.ofSeconds(5))
+                .build();
+    }
+
+    private static final class FakeSlowResolver implements AuthorityResolver {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean failing;
+        private volatile boolean slowFirstCall;
+        private volatile boolean slow;
+
+        @Override
+        public Set<GrantedAuthority> resolve(String userId){
+            int call = calls.incrementAndGet();
+            if(failing){
+                throw new AuthorityResolutionException("AuthMat unavailable");
+            }
+            if(slow || slowFirstCall && call == 1){
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return USER;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.authmat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for AuthMat's versioned authority endpoint. Every {@link #grant}
+ * bumps the user's version; conditional calls for the current version answer
+ * "not modified".
+ */
+class VersionedStubAuthorityResolver implements VersionedAuthorityResolver {
+    final AtomicInteger fullResolves = new AtomicInteger();
+    final AtomicInteger notModifiedReplies = new AtomicInteger();
+
+    private final Map<String, AuthoritySnapshot> snapshots = new ConcurrentHashMap<>();
+
+    void grant(String userId, String... roles) {
+        snapshots.compute(userId, (id, current) -> new AuthoritySnapshot(
+                Set.of(roles).stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.<GrantedAuthority>toSet()),
+                current == null ? 1 : current.version() + 1));
+    }
+
+    long versionOf(String userId) {
+        return snapshots.get(userId).version();
+    }
+
+    @Override
+    public AuthoritySnapshot resolveSnapshot(String userId) {
+        fullResolves.incrementAndGet();
+        AuthoritySnapshot snapshot = snapshots.get(userId);
+        if (snapshot == null) {
+            throw new AuthorityResolutionException("Unknown userId=" + userId);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public Optional<AuthoritySnapshot> resolveIfChanged(String userId, long knownVersion) {
+        AuthoritySnapshot snapshot = snapshots.get(userId);
+        if (snapshot != null && snapshot.version() == knownVersion) {
+            notModifiedReplies.incrementAndGet();
+            return Optional.empty();
+        }
+        return Optional.of(resolveSnapshot(userId));
+    }
+}
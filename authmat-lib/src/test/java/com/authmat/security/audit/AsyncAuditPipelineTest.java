@@ -0,0 +1,104 @@
+package com.authmat.security.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncAuditPipelineTest {
+
+    @Test
+    void deliversEveryEventInPublicationOrder(){
+        List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        AsyncAuditPipeline pipeline = AsyncAuditPipeline.builder()
+                .sink(written::addAll)
+                .capacity(64)
+                .batchSize(8)
+                .overflowPolicy(AsyncAuditPipeline.OverflowPolicy.BLOCK)
+                .flushInterval(Duration.ofMillis(1))
+                .build();
+
+        IntStream.range(0, 1_000).forEach(i -> pipeline.publish(event("req-" + i)));
+        pipeline.close();
+
+        assertEquals(1_000, written.size());
+        assertEquals("req-0", written.getFirst().requestId());
+        assertEquals("req-999", written.getLast().requestId());
+        assertEquals(1_000, pipeline.publishedCount());
+        assertEquals(0, pipeline.droppedCount());
+    }
+
+    @Test
+    void dropPolicyCountsEventsThatDoNotFit() throws InterruptedException {
+        CountDownLatch sinkEntered = new CountDownLatch(1);
+        CountDownLatch releaseSink = new CountDownLatch(1);
+        List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        AsyncAuditPipeline pipeline = AsyncAuditPipeline.builder()
+                .sink(batch -> {
+                    sinkEntered.countDown();
+                    await(releaseSink);
+                    written.addAll(batch);
+                })
+                .capacity(4)
+                .batchSize(1)
+                .flushInterval(Duration.ofMillis(1))
+                .build();
+
+        pipeline.publish(event("first"));
+        assertTrue(sinkEntered.await(5, TimeUnit.SECONDS));
+        IntStream.range(0, 10).forEach(i -> pipeline.publish(event("burst-" + i)));
+
+        assertEquals(6, pipeline.droppedCount());
+        assertEquals(4, pipeline.pendingCount());
+
+        releaseSink.countDown();
+        pipeline.close();
+        assertEquals(5, written.size());
+    }
+
+    @Test
+    void blockPolicyLosesNothingUnderContention() throws InterruptedException {
+        List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        AsyncAuditPipeline pipeline = AsyncAuditPipeline.builder()
+                .sink(written::addAll)
+                .capacity(8)
+                .overflowPolicy(AsyncAuditPipeline.OverflowPolicy.BLOCK)
+                .flushInterval(Duration.ofMillis(1))
+                .build();
+
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 8).forEach(thread -> producers.submit(() ->
+                IntStream.range(0, 500).forEach(i -> pipeline.publish(event(thread + "-" + i)))));
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(10, TimeUnit.SECONDS));
+        pipeline.close();
+
+        assertEquals(4_000, written.size());
+        assertEquals(0, pipeline.droppedCount());
+    }
+
+    @Test
+    void sharedPipelineIsOneInstancePerProcess(){
+        assertSame(AsyncAuditPipeline.shared(), AsyncAuditPipeline.shared());
+    }
+
+    private static AuditEvent event(String requestId){
+        return AuditEvent.authSuccess("user-1", "10.0.0.1", requestId, "/documents");
+    }
+
+    private static void await(CountDownLatch latch){
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.authmat.security.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestContextTest {
+    private final RequestContext context =
+            new RequestContext("req-1", "10.0.0.1", "GET", "/documents", "user-1");
+
+    @AfterEach
+    void clearMdc(){
+        MDC.clear();
+    }
+
+    @Test
+    void attachPopulatesMdcAndCloseRestoresPreviousState(){
+        MDC.put("traceId", "trace-1");
+
+        try(RequestContext.Scope ignored = context.attach()){
+            assertEquals("req-1", MDC.get(RequestContext.REQUEST_ID_KEY));
+            assertEquals("user-1", MDC.get(RequestContext.USER_ID_KEY));
+            assertEquals("trace-1", MDC.get("traceId"));
+            assertEquals(context, RequestContext.current().orElseThrow());
+        }
+
+        assertNull(MDC.get(RequestContext.REQUEST_ID_KEY));
+        assertEquals("trace-1", MDC.get("traceId"));
+        assertTrue(RequestContext.current().isEmpty());
+    }
+
+    @Test
+    void closeOnlyRestoresTheKeysItOwns(){
+        try(RequestContext.Scope ignored = context.attach()){
+            MDC.put("spanId", "span-1");
+        }
+
+        assertEquals("span-1", MDC.get("spanId"));
+        assertNull(MDC.get(RequestContext.USER_ID_KEY));
+    }
+
+    @Test
+    void nestedAttachRestoresTheOuterContext(){
+        RequestContext anonymous = new RequestContext("req-1", "10.0.0.1", "GET", "/documents", null);
+
+        try(RequestContext.Scope outer = anonymous.attach()){
+            assertNull(MDC.get(RequestContext.USER_ID_KEY));
+
+            try(RequestContext.Scope inner = anonymous.withUserId("user-1").attach()){
+                assertEquals("user-1", MDC.get(RequestContext.USER_ID_KEY));
+                assertEquals("req-1", MDC.get(RequestContext.REQUEST_ID_KEY));
+            }
+
+            assertNull(MDC.get(RequestContext.USER_ID_KEY));
+            assertEquals("req-1", MDC.get(RequestContext.REQUEST_ID_KEY));
+            assertEquals(anonymous, RequestContext.current().orElseThrow());
+        }
+
+        assertNull(MDC.get(RequestContext.REQUEST_ID_KEY));
+    }
+
+    @Test
+    void attachUserIdOnlyTouchesTheUserIdKey(){
+        RequestContext anonymous = new RequestContext("req-1", "10.0.0.1", "GET", "/documents", null);
+
+        try(RequestContext.Scope outer = anonymous.attach()){
+            MDC.put(RequestContext.REQUEST_ID_KEY, "req-overridden");
+
+            try(RequestContext.Scope identified = anonymous.attachUserId("user-1")){
+                assertEquals("user-1", MDC.get(RequestContext.USER_ID_KEY));
+                assertEquals("req-overridden", MDC.get(RequestContext.REQUEST_ID_KEY));
+                assertEquals("user-1", RequestContext.current().orElseThrow().userId());
+            }
+
+            assertNull(MDC.get(RequestContext.USER_ID_KEY));
+            assertEquals("req-overridden", MDC.get(RequestContext.REQUEST_ID_KEY));
+            assertEquals(anonymous, RequestContext.current().orElseThrow());
+        }
+
+        assertNull(MDC.get(RequestContext.REQUEST_ID_KEY));
+    }
+
+    @Test
+    void wrappedTasksSeeTheContextOnVirtualThreadsAndContinuations() throws Exception {
+        try(ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()){
+            String seenByTask;
+            String seenByContinuation;
+
+            try(RequestContext.Scope ignored = context.attach()){
+                Executor propagating = RequestContext.wrap(virtualThreads);
+                seenByTask = virtualThreads.submit(RequestContext.wrap(
+                        () -> MDC.get(RequestContext.REQUEST_ID_KEY))).get();
+                seenByContinuation = CompletableFuture
+                        .supplyAsync(() -> "ignored", propagating)
+                        .thenApplyAsync(value -> RequestContext.current().map(RequestContext::userId).orElse(null),
+                                propagating)
+                        .get();
+            }
+
+            assertEquals("req-1", seenByTask);
+            assertEquals("user-1", seenByContinuation);
+        }
+    }
+
+    @Test
+    void generatedRequestIdsAreWellFormedAndUnique(){
+        Set<String> ids = new HashSet<>();
+        IntStream.range(0, 10_000).forEach(i -> ids.add(RequestIdGenerator.next()));
+
+        assertEquals(10_000, ids.size());
+        ids.forEach(id -> assertTrue(id.matches("[0-9A-HJKMNP-TV-Z]{26}"), id));
+        assertTrue(RequestIdGenerator.next(1_000L).compareTo(RequestIdGenerator.next(2_000L)) < 0);
+    }
+}
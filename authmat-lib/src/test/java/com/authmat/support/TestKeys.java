@@ -0,0 +1,24 @@
+package com.authmat.support;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/** Throwaway key material for tests. */
+public final class TestKeys {
+    private TestKeys(){
+    }
+
+    /**
+     * @return a freshly generated 2048-bit RSA public key, X.509 encoded in base64
+     */
+    public static String encodedRsaPublicKey(){
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return Base64.getEncoder().encodeToString(generator.generateKeyPair().getPublic().getEncoded());
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+}
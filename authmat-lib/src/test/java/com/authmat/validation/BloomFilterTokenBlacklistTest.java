@@ -0,0 +1,48 @@
+package com.authmat.validation;
+
+import com.authmat.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTokenBlacklistTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final BloomFilterTokenBlacklist blacklist = new BloomFilterTokenBlacklist(1_000, 0.01, clock);
+
+    @Test
+    void revokedTokenIsBlacklistedUntilItExpires(){
+        blacklist.revoke("header.payload.signature", clock.instant().plus(Duration.ofMinutes(5)));
+
+        assertTrue(blacklist.isBlacklisted("header.payload.signature"));
+        assertFalse(blacklist.isBlacklisted("header.payload.other"));
+
+        clock.advance(Duration.ofMinutes(5));
+        assertFalse(blacklist.isBlacklisted("header.payload.signature"));
+    }
+
+    @Test
+    void rebuildDropsExpiredEntriesAndKeepsLiveOnes(){
+        blacklist.revoke("token.short.lived", clock.instant().plus(Duration.ofMinutes(1)));
+        blacklist.revoke("token.long.lived", clock.instant().plus(Duration.ofHours(1)));
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertEquals(1, blacklist.rebuild());
+        assertEquals(1, blacklist.size());
+        assertTrue(blacklist.isBlacklisted("token.long.lived"));
+    }
+
+    @Test
+    void neverReportsFalseNegatives(){
+        Instant expiresAt = clock.instant().plus(Duration.ofHours(1));
+        IntStream.range(0, 5_000).forEach(i -> blacklist.revoke("token.revoked." + i, expiresAt));
+        blacklist.rebuild();
+
+        IntStream.range(0, 5_000).forEach(i -> assertTrue(blacklist.isBlacklisted("token.revoked." + i)));
+        IntStream.range(0, 5_000).forEach(i -> assertFalse(blacklist.isBlacklisted("token.valid." + i)));
+    }
+}
@@ -0,0 +1,98 @@
+package com.authmat.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtHeaderReaderTest {
+
+    @Test
+    void readsAlgorithmKeyIdAndType(){
+        JwtHeader header = JwtHeaderReader.read(token("{\"alg\":\"RS256\",\"kid\":\"kid-1\",\"typ\":\"JWT\"}"));
+
+        assertEquals(new JwtHeader("RS256", "kid-1", "JWT"), header);
+    }
+
+    @Test
+    void absentFieldsAreNullAndOtherFieldsAreSkipped(){
+        JwtHeader header = JwtHeaderReader.read(
+                token("{\"crit\":[\"exp\"],\"jwk\":{\"kid\":\"nested\"},\"alg\":\"ES256\",\"x5t\":1}"));
+
+        assertEquals(new JwtHeader("ES256", null, null), header);
+    }
+
+    @Test
+    void decodesEscapedStrings(){
+        JwtHeader header = JwtHeaderReader.read(token("{\"alg\":\"RS256\",\"kid\":\"k\\\"1\\\\\\u00e9\"}"));
+
+        assertEquals("k\"1\\é", header.keyId());
+    }
+
+    @Test
+    void paddedAndUnpaddedHeadersDecodeTheSame(){
+        for(String kid : List.of("a", "ab", "abc")){
+            byte[] json = ("{\"alg\":\"RS256\",\"kid\":\"" + kid + "\"}").getBytes(StandardCharsets.UTF_8);
+            String padded = Base64.getUrlEncoder().encodeToString(json);
+            String unpadded = Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+
+            JwtHeader expected = new JwtHeader("RS256", kid, null);
+            assertEquals(expected, JwtHeaderReader.read(padded + ".e30.sig"));
+            assertEquals(expected, JwtHeaderReader.read(unpadded + ".e30.sig"));
+        }
+    }
+
+    @Test
+    void rejectsMalformedPadding(){
+        String header = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(header + "===.e30.sig"));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(header + "=.e30.sig"));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read("ey=J.e30.sig"));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read("eyJhb.e30.sig"));
+    }
+
+    @Test
+    void rejectsStandardBase64Alphabet(){
+        String header = encode("{\"alg\":\"RS256\",\"kid\":\"?????????\"}");
+        assertTrue(header.contains("_"));
+
+        assertDoesNotThrow(() -> JwtHeaderReader.read(header + ".e30.sig"));
+        assertThrows(IllegalArgumentException.class,
+                () -> JwtHeaderReader.read(header.replace('_', '/') + ".e30.sig"));
+    }
+
+    @Test
+    void rejectsMalformedTokens(){
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(null));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(""));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(encode("{\"alg\":\"RS256\"}") + ".e30"));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(token("{\"alg\":\"RS256\"}") + ".extra"));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(".e30.sig"));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(token("[\"RS256\"]")));
+        assertThrows(IllegalArgumentException.class, () -> JwtHeaderReader.read(token("{\"alg\":")));
+    }
+
+    @Test
+    void oversizedHeaderIsDecodedWithoutGrowingTheRetainedBuffer(){
+        String kid = "k".repeat(4 * JwtHeaderReader.MAX_RETAINED_BUFFER_SIZE);
+
+        JwtHeader header = JwtHeaderReader.read(token("{\"alg\":\"RS256\",\"kid\":\"" + kid + "\"}"));
+
+        assertEquals(kid, header.keyId());
+        assertTrue(JwtHeaderReader.retainedBufferSize() <= JwtHeaderReader.MAX_RETAINED_BUFFER_SIZE);
+        assertEquals("kid-1", JwtHeaderReader.read(token("{\"alg\":\"RS256\",\"kid\":\"kid-1\"}")).keyId());
+    }
+
+    private static String token(String headerJson){
+        return encode(headerJson) + ".e30.sig";
+    }
+
+    private static String encode(String json){
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
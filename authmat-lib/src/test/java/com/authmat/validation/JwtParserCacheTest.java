@@ -0,0 +1,78 @@
+package com.authmat.validation;
+
+import com.authmat.model.publickey.PublicKeyMetadataImp;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtParserCacheTest {
+    private final AtomicInteger built = new AtomicInteger();
+    private final JwtParserCache cache = new JwtParserCache(2, this::countingParser, Runnable::run);
+
+    @Test
+    void reusesParserPerKey(){
+        PublicKey key = generateKey();
+
+        assertSame(cache.parserFor(key), cache.parserFor(key));
+        assertEquals(1, built.get());
+    }
+
+    @Test
+    void boundIsEnforced(){
+        for(int i = 0; i < 10; i++){
+            cache.parserFor(generateKey());
+        }
+
+        assertTrue(cache.size() <= 2, "size=" + cache.size());
+    }
+
+    @Test
+    void evictionListenerReleasesParserByDecodedKey(){
+        PublicKey key = generateKey();
+        cache.parserFor(key);
+
+        cache.onKeyEvicted("kid-1", new PublicKeyMetadataImp(encoded(key), key, "RSA", "RS256"));
+
+        assertEquals(0, cache.size());
+        cache.parserFor(key);
+        assertEquals(2, built.get());
+    }
+
+    @Test
+    void evictionListenerFallsBackToEncodedKey(){
+        PublicKey key = generateKey();
+        cache.parserFor(key);
+
+        cache.onKeyEvicted("kid-1", new PublicKeyMetadataImp(encoded(key), "RSA", "RS256"));
+
+        assertEquals(0, cache.size());
+    }
+
+    private JwtParser countingParser(Key key){
+        built.incrementAndGet();
+        return Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
+    private static String encoded(PublicKey key){
+        return Base64.getEncoder().encodeToString(key.getEncoded());
+    }
+
+    private static PublicKey generateKey(){
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair().getPublic();
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+}
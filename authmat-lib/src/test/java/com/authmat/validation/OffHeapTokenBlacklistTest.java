@@ -0,0 +1,111 @@
+package com.authmat.validation;
+
+import com.authmat.support.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTokenBlacklistTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void revokedTokenIsBlacklistedUntilItExpires(){
+        OffHeapTokenBlacklist blacklist = new OffHeapTokenBlacklist(16, null, clock);
+        blacklist.revoke("header.payload.signature", clock.instant().plus(Duration.ofMinutes(5)));
+
+        assertTrue(blacklist.isBlacklisted("header.payload.signature"));
+        assertFalse(blacklist.isBlacklisted("header.payload.other"));
+
+        clock.advance(Duration.ofMinutes(5));
+        assertFalse(blacklist.isBlacklisted("header.payload.signature"));
+    }
+
+    @Test
+    void fullTableCompactsExpiredEntriesBeforeRejectingRevocations(){
+        OffHeapTokenBlacklist blacklist = new OffHeapTokenBlacklist(100, null, clock);
+        IntStream.range(0, 100).forEach(i ->
+                blacklist.revoke("token.short." + i, clock.instant().plus(Duration.ofMinutes(1))));
+
+        clock.advance(Duration.ofMinutes(2));
+        blacklist.revoke("token.long", clock.instant().plus(Duration.ofHours(1)));
+
+        assertEquals(1, blacklist.size());
+        assertTrue(blacklist.isBlacklisted("token.long"));
+
+        IntStream.range(0, 99).forEach(i ->
+                blacklist.revoke("token.more." + i, clock.instant().plus(Duration.ofHours(1))));
+        assertThrows(IllegalStateException.class,
+                () -> blacklist.revoke("token.overflow", clock.instant().plus(Duration.ofHours(1))));
+    }
+
+    @Test
+    void memoryMappedTableSurvivesRestart(@TempDir Path directory){
+        Path file = directory.resolve("blacklist.bin");
+        Instant expiresAt = clock.instant().plus(Duration.ofHours(1));
+
+        try(OffHeapTokenBlacklist blacklist = new OffHeapTokenBlacklist(1_000, file, clock)){
+            IntStream.range(0, 500).forEach(i -> blacklist.revoke("token.revoked." + i, expiresAt));
+            blacklist.compact();
+        }
+
+        try(OffHeapTokenBlacklist reopened = new OffHeapTokenBlacklist(1_000, file, clock)){
+            assertEquals(500, reopened.size());
+            IntStream.range(0, 500).forEach(i -> assertTrue(reopened.isBlacklisted("token.revoked." + i)));
+            assertFalse(reopened.isBlacklisted("token.valid"));
+        }
+    }
+
+    @Test
+    void repeatedCompactionDoesNotRetainOldTables(){
+        OffHeapTokenBlacklist blacklist = new OffHeapTokenBlacklist(1_000, null, clock);
+        IntStream.range(0, 100).forEach(i ->
+                blacklist.revoke("token.revoked." + i, clock.instant().plus(Duration.ofHours(1))));
+
+        for(int i = 0; i < 1_000; i++){
+            blacklist.compact();
+        }
+
+        assertEquals(1, blacklist.openGenerations());
+        assertEquals(100, blacklist.size());
+        assertTrue(blacklist.isBlacklisted("token.revoked.42"));
+
+        blacklist.close();
+        assertEquals(0, blacklist.openGenerations());
+        assertThrows(IllegalStateException.class, () -> blacklist.isBlacklisted("token.revoked.42"));
+    }
+
+    @Test
+    void swappedOutTableIsReleasedOnceItsReadersLeave(){
+        OffHeapTokenBlacklist blacklist = new OffHeapTokenBlacklist(16, null, clock);
+        blacklist.revoke("token.revoked", clock.instant().plus(Duration.ofHours(1)));
+
+        OffHeapTokenBlacklist.Generation inFlight = blacklist.acquire();
+        blacklist.compact();
+
+        assertEquals(2, blacklist.openGenerations());
+        assertTrue(inFlight.segment.scope().isAlive());
+
+        inFlight.release();
+        assertEquals(1, blacklist.openGenerations());
+        assertFalse(inFlight.segment.scope().isAlive());
+        assertTrue(blacklist.isBlacklisted("token.revoked"));
+    }
+
+    @Test
+    void closeReleasesFileBackedTable(@TempDir Path directory){
+        OffHeapTokenBlacklist blacklist = new OffHeapTokenBlacklist(1_000, directory.resolve("blacklist.bin"), clock);
+        blacklist.revoke("token.revoked", clock.instant().plus(Duration.ofHours(1)));
+        blacklist.compact();
+
+        blacklist.close();
+        blacklist.close();
+
+        assertEquals(0, blacklist.openGenerations());
+    }
+}
@@ -0,0 +1,80 @@
+package com.authmat.validation;
+
+import com.authmat.events.TokenRevokedEvent;
+import com.authmat.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationSyncApplierTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final Instant expiresAt = clock.instant().plus(Duration.ofHours(1));
+
+    @Test
+    void startLoadsCompactedSnapshotThenAppliesPushedEvents(){
+        InMemoryRevocationFeed feed = new InMemoryRevocationFeed(100, clock);
+        feed.publish("token.expired", clock.instant().plus(Duration.ofMinutes(1)));
+        feed.publish("token.before.start", expiresAt);
+        clock.advance(Duration.ofMinutes(2));
+
+        BloomFilterTokenBlacklist blacklist = new BloomFilterTokenBlacklist(1_000, 0.01, clock);
+        try(RevocationSyncApplier applier = new RevocationSyncApplier(blacklist, feed).start()){
+            assertEquals(2, applier.lastSequence());
+            assertEquals(1, blacklist.size());
+            assertTrue(blacklist.isBlacklisted("token.before.start"));
+
+            feed.publish("token.after.start", expiresAt);
+
+            assertEquals(3, applier.lastSequence());
+            assertTrue(blacklist.isBlacklisted("token.after.start"));
+        }
+    }
+
+    @Test
+    void gapInPushedEventsIsFilledFromTheFeed(){
+        InMemoryRevocationFeed feed = new InMemoryRevocationFeed(100, clock);
+        BloomFilterTokenBlacklist blacklist = new BloomFilterTokenBlacklist(1_000, 0.01, clock);
+        RevocationSyncApplier applier = new RevocationSyncApplier(blacklist, feed);
+        applier.sync();
+
+        feed.publish("token.missed.1", expiresAt);
+        feed.publish("token.missed.2", expiresAt);
+        TokenRevokedEvent third = feed.publish("token.delivered", expiresAt);
+
+        applier.onEvent(third);
+        applier.onEvent(third);
+
+        assertEquals(3, applier.lastSequence());
+        assertTrue(blacklist.isBlacklisted("token.missed.1"));
+        assertTrue(blacklist.isBlacklisted("token.missed.2"));
+        assertTrue(blacklist.isBlacklisted("token.delivered"));
+    }
+
+    @Test
+    void fallsBackToSnapshotWhenDeltaWasCompactedAway(){
+        InMemoryRevocationFeed feed = new InMemoryRevocationFeed(2, clock);
+        BloomFilterTokenBlacklist blacklist = new BloomFilterTokenBlacklist(1_000, 0.01, clock);
+        RevocationSyncApplier applier = new RevocationSyncApplier(blacklist, feed);
+        feed.publish("token.first", expiresAt);
+        applier.sync();
+
+        List.of("token.a", "token.b", "token.c").forEach(token -> feed.publish(token, expiresAt));
+
+        assertTrue(feed.since(1).isEmpty());
+        applier.sync();
+
+        assertEquals(4, applier.lastSequence());
+        assertTrue(blacklist.isBlacklisted("token.a"));
+        assertTrue(blacklist.isBlacklisted("token.c"));
+    }
+
+    @Test
+    void digestRoundTripsThroughHex(){
+        TokenDigest digest = TokenDigest.of("header.payload.signature");
+        assertEquals(digest, TokenDigest.fromHex(digest.toHex()));
+    }
+}
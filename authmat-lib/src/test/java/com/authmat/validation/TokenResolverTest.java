@@ -0,0 +1,98 @@
+package com.authmat.validation;
+
+import com.authmat.security.AuthorityRequirement;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenResolverTest {
+    private static final KeyPair KEY_PAIR = generateKeyPair();
+
+    private JwtParser parser;
+    private TokenResolver tokenResolver;
+    private String token;
+
+    @BeforeEach
+    void setUp(){
+        parser = spy(Jwts.parserBuilder()
+                .setSigningKey(KEY_PAIR.getPublic())
+                .build());
+        tokenResolver = new TokenResolver(new JwtParserCache(1, key -> parser));
+
+        token = Jwts.builder()
+                .setHeaderParam("kid", "kid-1")
+                .setSubject("user-1")
+                .setAudience("dockeep")
+                .setIssuer("authmat")
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plus(Duration.ofMinutes(5))))
+                .claim("authorities", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .signWith(KEY_PAIR.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    @Test
+    void validateExposesAllClaimsFromSingleParse(){
+        ValidatedToken validatedToken = tokenResolver.validate(token, KEY_PAIR.getPublic());
+
+        assertEquals("kid-1", validatedToken.keyId());
+        assertEquals("user-1", validatedToken.subject());
+        assertEquals("dockeep", validatedToken.audience());
+        assertEquals("authmat", validatedToken.issuer());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), validatedToken.authorities());
+        assertFalse(validatedToken.isExpired(Instant.now()));
+        verify(parser, times(1)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void isTokenValidVerifiesSignatureExactlyOnce(){
+        assertTrue(tokenResolver.isTokenValid(token, KEY_PAIR.getPublic()));
+        verify(parser, times(1)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void isTokenValidWithRequiredAuthoritiesVerifiesSignatureExactlyOnce(){
+        assertTrue(tokenResolver.isTokenValid(
+                token, KEY_PAIR.getPublic(), "user-1", "dockeep", Set.of("ROLE_ADMIN")));
+        verify(parser, times(1)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void isTokenValidRejectsMissingRequiredAuthority(){
+        assertFalse(tokenResolver.isTokenValid(
+                token, KEY_PAIR.getPublic(), "user-1", "dockeep", Set.of("ROLE_AUDITOR")));
+    }
+
+    @Test
+    void isTokenValidWithPrecompiledRequirement(){
+        assertTrue(tokenResolver.isTokenValid(token, KEY_PAIR.getPublic(), "user-1", "dockeep",
+                AuthorityRequirement.allOf("ROLE_USER", "ROLE_ADMIN")));
+        assertFalse(tokenResolver.isTokenValid(token, KEY_PAIR.getPublic(), "user-1", "dockeep",
+                AuthorityRequirement.anyOf("ROLE_AUDITOR")));
+    }
+
+    private static KeyPair generateKeyPair(){
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.authmat.validation;
+
+import com.authmat.exception.FailedAuthenticationException;
+import com.authmat.support.MutableClock;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+    private static final KeyPair KEY_PAIR = generateKeyPair();
+    private static final KeyPair OTHER_KEY_PAIR = generateKeyPair();
+
+    private MutableClock clock;
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokenCache;
+    private BloomFilterTokenBlacklist blacklist;
+    private TokenResolver tokenResolver;
+    private Date issuedAt;
+    private Date expiration;
+    private String token;
+
+    @BeforeEach
+    void setUp(){
+        Instant now = Instant.now();
+        clock = new MutableClock(now);
+        parser = spy(Jwts.parserBuilder()
+                .setSigningKey(KEY_PAIR.getPublic())
+                .build());
+        verifiedTokenCache = new VerifiedTokenCache(100, Duration.ofHours(1), clock);
+        blacklist = new BloomFilterTokenBlacklist(1_000, 0.001, clock);
+        tokenResolver = new TokenResolver(new JwtParserCache(1, key -> parser), verifiedTokenCache, blacklist);
+
+        issuedAt = Date.from(now);
+        expiration = Date.from(now.plus(Duration.ofMinutes(5)));
+        token = signedToken(KEY_PAIR.getPrivate());
+    }
+
+    @Test
+    void cacheHitSkipsSignatureVerification(){
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+
+        verify(parser, times(1)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void blacklistedTokenIsRejectedOnCacheHit(){
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+        blacklist.revoke(token, expiration.toInstant());
+
+        assertThrows(FailedAuthenticationException.class,
+                () -> tokenResolver.validate(token, KEY_PAIR.getPublic()));
+        verify(parser, times(1)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void entryIsNotServedPastTokenExpiration(){
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+        clock.advance(Duration.ofMinutes(6));
+
+        // The signature is still checked against real time, so the re-parse succeeds.
+        ValidatedToken validatedToken = tokenResolver.validate(token, KEY_PAIR.getPublic());
+
+        assertTrue(validatedToken.isExpired(clock.instant()));
+        verify(parser, times(2)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void keyIdInvalidationDropsItsEntries(){
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+
+        verifiedTokenCache.onKeyEvicted("kid-1", null);
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+
+        verify(parser, times(2)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void invalidatingAnotherKeyIdKeepsEntries(){
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+
+        verifiedTokenCache.invalidateKeyId("kid-2");
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+
+        verify(parser, times(1)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void differentlySignedTokenWithSamePayloadIsNotServedFromCache(){
+        String forged = signedToken(OTHER_KEY_PAIR.getPrivate());
+        assertEquals(payloadOf(token), payloadOf(forged));
+
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+
+        assertThrows(JwtException.class, () -> tokenResolver.validate(forged, KEY_PAIR.getPublic()));
+        verify(parser, times(2)).parseClaimsJws(anyString());
+    }
+
+    @Test
+    void entryIsOnlyServedForTheKeyThatVerifiedIt(){
+        tokenResolver.validate(token, KEY_PAIR.getPublic());
+        tokenResolver.validate(token, OTHER_KEY_PAIR.getPublic());
+
+        verify(parser, times(2)).parseClaimsJws(anyString());
+    }
+
+    private String signedToken(PrivateKey signingKey){
+        return Jwts.builder()
+                .setHeaderParam("kid", "kid-1")
+                .setSubject("user-1")
+                .setAudience("dockeep")
+                .setIssuer("authmat")
+                .setIssuedAt(issuedAt)
+                .setExpiration(expiration)
+                .claim("authorities", List.of("ROLE_USER"))
+                .signWith(signingKey, SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static String payloadOf(String token){
+        return token.substring(0, token.lastIndexOf('.'));
+    }
+
+    private static KeyPair generateKeyPair(){
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+}